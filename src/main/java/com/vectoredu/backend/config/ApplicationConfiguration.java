@@ -1,6 +1,9 @@
 package com.vectoredu.backend.config;
 
 import com.vectoredu.backend.repository.UserRepository;
+import com.vectoredu.backend.service.UserCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,23 +13,38 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
 
 @Configuration
 public class ApplicationConfiguration {
+    private final UserCacheService userCacheService;
     private final UserRepository userRepository;
-    public ApplicationConfiguration(UserRepository userRepository) {
+    public ApplicationConfiguration(UserCacheService userCacheService, UserRepository userRepository) {
+        this.userCacheService = userCacheService;
         this.userRepository = userRepository;
     }
 
+    // Пользователи для JWT-фильтра и сервисов: через кэш
     @Bean
     UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
+        return username -> userCacheService.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
-    @Bean
-    BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    BoundedPasswordEncoder passwordEncoder(
+            @Value("${security.password-hashing.threads}") int threads,
+            @Value("${security.password-hashing.queue-capacity}") int queueCapacity,
+            @Value("${security.password-hashing.timeout}") Duration timeout,
+            @Value("${security.password-hashing.retry-after-seconds}") long retryAfterSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        // 0 потоков: по числу доступных ядер, BCrypt упирается только в CPU
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), poolSize, queueCapacity, timeout,
+                retryAfterSeconds, meterRegistry);
     }
 
     @Bean
@@ -34,12 +52,16 @@ public class ApplicationConfiguration {
         return config.getAuthenticationManager();
     }
 
+    // Вход проверяет пароль и флаг enabled по базе, а не по кэшу: кэш сбрасывается только на экземпляре,
+    // где сменили пароль, и на остальных старый пароль подходил бы до истечения записи. Время входа все равно
+    // определяет BCrypt, лишнее чтение по индексу email на его фоне незаметно
     @Bean
-    AuthenticationProvider authenticationProvider() {
+    AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
 
-        authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsService(username -> userRepository.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found")));
+        authProvider.setPasswordEncoder(passwordEncoder);
 
         return authProvider;
     }
@@ -0,0 +1,92 @@
+package com.vectoredu.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+    public static final String TASK_COUNTS = "taskCounts";
+    public static final String USERS = "users";
+    public static final String TOKEN_VERSIONS = "tokenVersions";
+    public static final String VERIFIED_TOKENS = "verifiedTokens";
+
+    @Value("${cache.task-counts.ttl}")
+    private Duration taskCountsTtl;
+
+    @Value("${cache.task-counts.maximum-size}")
+    private long taskCountsMaximumSize;
+
+    @Value("${cache.users.ttl}")
+    private Duration usersTtl;
+
+    @Value("${cache.users.maximum-size}")
+    private long usersMaximumSize;
+
+    @Value("${cache.token-versions.ttl}")
+    private Duration tokenVersionsTtl;
+
+    @Value("${cache.token-versions.maximum-size}")
+    private long tokenVersionsMaximumSize;
+
+    @Value("${cache.verified-tokens.maximum-size}")
+    private long verifiedTokensMaximumSize;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(TASK_COUNTS, Caffeine.newBuilder()
+                .expireAfterWrite(taskCountsTtl)
+                .maximumSize(taskCountsMaximumSize)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(USERS, Caffeine.newBuilder()
+                .expireAfterWrite(usersTtl)
+                .maximumSize(usersMaximumSize)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(TOKEN_VERSIONS, Caffeine.newBuilder()
+                .expireAfterWrite(tokenVersionsTtl)
+                .maximumSize(tokenVersionsMaximumSize)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(VERIFIED_TOKENS, Caffeine.newBuilder()
+                .expireAfter(new TokenExpiry())
+                .maximumSize(verifiedTokensMaximumSize)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+
+    // Запись о проверенном токене живет ровно до истечения срока действия самого токена
+    private static class TokenExpiry implements Expiry<Object, Object> {
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            if (value instanceof Claims claims && claims.getExpiration() != null) {
+                long millis = claims.getExpiration().getTime() - System.currentTimeMillis();
+                return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+            }
+            return 0;
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,27 +1,43 @@
 package com.vectoredu.backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
+import java.time.Duration;
 import java.util.Properties;
 
 @Configuration
 public class EmailConfiguration {
 
+    @Value("${spring.mail.host}")
+    private String emailHost;
+
+    @Value("${spring.mail.port}")
+    private int emailPort;
+
     @Value("${spring.mail.username}")
     private String emailUsername;
 
     @Value("${spring.mail.password}")
     private String emailPassword;
 
+    @Value("${mail.transport-pool.max-connections}")
+    private int maxConnections;
+
+    @Value("${mail.transport-pool.borrow-timeout}")
+    private Duration borrowTimeout;
+
+    @Value("${mail.transport-pool.max-idle}")
+    private Duration maxIdle;
+
     @Bean
-    public JavaMailSender javaMailSender() {
+    public JavaMailSenderImpl javaMailSender() {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
-        mailSender.setHost("smtp.gmail.com");
-        mailSender.setPort(587);
+        mailSender.setHost(emailHost);
+        mailSender.setPort(emailPort);
         mailSender.setUsername(emailUsername);
         mailSender.setPassword(emailPassword);
 
@@ -29,8 +45,17 @@ public class EmailConfiguration {
         props.put("mail.transport.protocol", "smtp");
         props.put("mail.smtp.auth", "true");
         props.put("mail.smtp.starttls.enable", "true");
-        props.put("mail.debug", "true");
+        // Без таймаутов зависший SMTP-сервер навсегда занимает соединение из пула
+        props.put("mail.smtp.connectiontimeout", "10000");
+        props.put("mail.smtp.timeout", "10000");
+        props.put("mail.smtp.writetimeout", "10000");
 
         return mailSender;
     }
+
+    @Bean(destroyMethod = "shutdown")
+    public SmtpTransportPool smtpTransportPool(JavaMailSenderImpl javaMailSender, MeterRegistry meterRegistry) {
+        return new SmtpTransportPool(javaMailSender.getSession(), emailHost, emailPort, emailUsername, emailPassword,
+                maxConnections, borrowTimeout, maxIdle, meterRegistry);
+    }
 }
@@ -1,38 +1,85 @@
 package com.vectoredu.backend.config;
 
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.model.enums.Role;
 import com.vectoredu.backend.service.JwtService;
+import com.vectoredu.backend.service.UserCacheService;
+import com.vectoredu.backend.service.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final HandlerExceptionResolver handlerExceptionResolver;
 
     private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserDetailsService userDetailsService;
+    private final UserCacheService userCacheService;
+    private final boolean claimsAuthentication;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    // Время аутентификации по токену: проверка подписи (или попадание в кэш) и проверка отзыва
+    private final Timer authenticatedTimer;
+    private final Timer rejectedTimer;
+    private final Timer failedTimer;
 
     public JwtAuthenticationFilter(
             JwtService jwtService,
+            VerifiedTokenCache verifiedTokenCache,
             UserDetailsService userDetailsService,
-            HandlerExceptionResolver handlerExceptionResolver
+            UserCacheService userCacheService,
+            HandlerExceptionResolver handlerExceptionResolver,
+            @Value("${security.jwt.claims-authentication}") boolean claimsAuthentication,
+            MeterRegistry meterRegistry
     ) {
         this.jwtService = jwtService;
+        this.verifiedTokenCache = verifiedTokenCache;
         this.userDetailsService = userDetailsService;
+        this.userCacheService = userCacheService;
         this.handlerExceptionResolver = handlerExceptionResolver;
+        this.claimsAuthentication = claimsAuthentication;
+        this.authenticatedTimer = verifyTimer("authenticated", meterRegistry);
+        this.rejectedTimer = verifyTimer("rejected", meterRegistry);
+        this.failedTimer = verifyTimer("failed", meterRegistry);
+    }
+
+    private static Timer verifyTimer(String result, MeterRegistry meterRegistry) {
+        return Timer.builder("security.jwt.verify")
+                .description("Проверка JWT и загрузка пользователя в JwtAuthenticationFilter")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // На открытых эндпоинтах заголовок Authorization не разбирается вовсе
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : SecurityConfiguration.PUBLIC_PATHS) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -50,23 +97,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
-            final String userEmail = jwtService.extractUsername(jwt);
-
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-            if (userEmail != null && authentication == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
 
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                authenticate(jwt, request);
             }
 
             filterChain.doFilter(request, response);
@@ -74,4 +107,64 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             handlerExceptionResolver.resolveException(request, response, null, exception);
         }
     }
+
+    private void authenticate(String jwt, HttpServletRequest request) {
+        long start = System.nanoTime();
+        Timer timer = failedTimer;
+        try {
+            final Claims claims = verifiedTokenCache.verify(jwt);
+            UserDetails userDetails = claims.getSubject() != null ? resolveUser(claims) : null;
+
+            if (userDetails == null) {
+                timer = rejectedTimer;
+                return;
+            }
+
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities()
+            );
+
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+            timer = authenticatedTimer;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Подпись и срок действия уже проверены при разборе токена. В режиме claims пользователь собирается
+    // из самого токена, а из хранилища (через кэш) читается только версия токенов для проверки отзыва.
+    // Refresh-токен подписан тем же ключом, но запрос им не аутентифицируется
+    private UserDetails resolveUser(Claims claims) {
+        if (!jwtService.isAccessToken(claims)) {
+            return null;
+        }
+        Number userId = claims.get(JwtService.CLAIM_USER_ID, Number.class);
+        if (claimsAuthentication && userId != null) {
+            return userFromClaims(userId.longValue(), claims);
+        }
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        return jwtService.isTokenValid(claims, userDetails) ? userDetails : null;
+    }
+
+    private User userFromClaims(Long userId, Claims claims) {
+        Number tokenVersion = claims.get(JwtService.CLAIM_TOKEN_VERSION, Number.class);
+        Integer currentVersion = userCacheService.findTokenVersion(userId).orElse(null);
+        if (tokenVersion == null || currentVersion == null || tokenVersion.intValue() != currentVersion) {
+            return null;
+        }
+
+        // Ссылка на пользователя: для связей задач и комментариев и для проверок по идентификатору
+        // этого достаточно, имя и пароль в токене не передаются
+        return User.builder()
+                .id(userId)
+                .email(claims.getSubject())
+                .role(Role.valueOf(claims.get(JwtService.CLAIM_ROLE, String.class)))
+                .tokenVersion(currentVersion)
+                .enabled(true)
+                .build();
+    }
 }
@@ -0,0 +1,126 @@
+package com.vectoredu.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+
+import java.time.Duration;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Пул аутентифицированных SMTP-соединений: рукопожатие STARTTLS и AUTH выполняются один раз на соединение,
+// а не на каждое письмо. Семафор ограничивает число одновременных соединений с SMTP-сервером
+public class SmtpTransportPool {
+    private final Session session;
+    private final String host;
+    private final int port;
+    private final String username;
+    private final String password;
+    private final Duration borrowTimeout;
+    private final long maxIdleNanos;
+
+    private final Semaphore permits;
+    private final Deque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+    private final Counter openedCounter;
+
+    public SmtpTransportPool(
+            Session session,
+            String host,
+            int port,
+            String username,
+            String password,
+            int maxConnections,
+            Duration borrowTimeout,
+            Duration maxIdle,
+            MeterRegistry meterRegistry
+    ) {
+        this.session = session;
+        this.host = host;
+        this.port = port;
+        this.username = username;
+        this.password = password;
+        this.borrowTimeout = borrowTimeout;
+        this.maxIdleNanos = maxIdle.toNanos();
+        this.permits = new Semaphore(maxConnections);
+
+        this.openedCounter = Counter.builder("mail.transport.opened")
+                .tag("host", host)
+                .register(meterRegistry);
+        Gauge.builder("mail.transport.active", permits, p -> maxConnections - p.availablePermits())
+                .tag("host", host)
+                .register(meterRegistry);
+        Gauge.builder("mail.transport.idle", idle, Deque::size)
+                .tag("host", host)
+                .register(meterRegistry);
+    }
+
+    // Возвращает подключенное соединение; вызывающий обязан вернуть его через release
+    public Transport borrow() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("Нет свободного SMTP-соединения с " + host);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Ожидание SMTP-соединения прервано", e);
+        }
+
+        try {
+            PooledTransport pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                // Сервер закрывает простаивающие соединения сам; isConnected проверяет живость командой NOOP
+                if (System.nanoTime() - pooled.releasedAt() < maxIdleNanos && pooled.transport().isConnected()) {
+                    return pooled.transport();
+                }
+                close(pooled.transport());
+            }
+            return connect();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // broken = true: соединение в неизвестном состоянии, оно закрывается и в пул не возвращается
+    public void release(Transport transport, boolean broken) {
+        try {
+            if (broken) {
+                close(transport);
+            } else {
+                idle.offerFirst(new PooledTransport(transport, System.nanoTime()));
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    public void shutdown() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled.transport());
+        }
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = session.getTransport("smtp");
+        transport.connect(host, port, username, password);
+        openedCounter.increment();
+        return transport;
+    }
+
+    private static void close(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException ignored) {
+            // Соединение уже разорвано
+        }
+    }
+
+    private record PooledTransport(Transport transport, long releasedAt) {
+    }
+}
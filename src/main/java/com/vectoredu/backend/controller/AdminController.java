@@ -1,9 +1,19 @@
 package com.vectoredu.backend.controller;
 
+import com.vectoredu.backend.dto.request.taskRequestDto.BulkTaskUpdate;
+import com.vectoredu.backend.dto.request.taskRequestDto.TaskFilter;
+import com.vectoredu.backend.dto.request.taskRequestDto.TaskSelection;
 import com.vectoredu.backend.dto.request.taskRequestDto.TaskToCreate;
 import com.vectoredu.backend.dto.request.taskRequestDto.TaskToUpdate;
+import com.vectoredu.backend.dto.response.BulkOperationResponse;
+import com.vectoredu.backend.dto.response.BulkTaskResponse;
 import com.vectoredu.backend.dto.response.CommentResponse;
+import com.vectoredu.backend.dto.response.CursorPage;
+import com.vectoredu.backend.dto.response.SliceResponse;
 import com.vectoredu.backend.dto.response.TaskResponse;
+import com.vectoredu.backend.dto.response.TaskSearchResult;
+import com.vectoredu.backend.dto.response.TaskStatsResponse;
+import com.vectoredu.backend.dto.response.TaskSuggestion;
 import com.vectoredu.backend.service.AdminService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,6 +27,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/admin/tasks")
 @RequiredArgsConstructor
@@ -33,6 +45,35 @@ public class AdminController {
         return ResponseEntity.ok(adminService.createTask(taskToCreate));
     }
 
+    @Operation(summary = "Массовое создание задач", responses = {
+            @ApiResponse(responseCode = "200", description = "Задачи обработаны, результат по каждой позиции в results"),
+            @ApiResponse(responseCode = "400", description = "Пустой или слишком большой список задач")
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTaskResponse> createTasks(@RequestBody List<TaskToCreate> tasksToCreate) {
+        return ResponseEntity.ok(adminService.createTasks(tasksToCreate));
+    }
+
+    @Operation(summary = "Массовое изменение статуса, приоритета или исполнителя", responses = {
+            @ApiResponse(responseCode = "200", description = "Задачи обновлены, в ответе число измененных задач"),
+            @ApiResponse(responseCode = "400", description = "Не указаны условия выборки или изменения"),
+            @ApiResponse(responseCode = "404", description = "Пользователь не найден")
+    })
+    @PatchMapping("/bulk")
+    public ResponseEntity<BulkOperationResponse> updateTasks(@RequestBody BulkTaskUpdate bulkTaskUpdate) {
+        return ResponseEntity.ok(adminService.updateTasks(bulkTaskUpdate));
+    }
+
+    @Operation(summary = "Массовое удаление задач вместе с комментариями", responses = {
+            @ApiResponse(responseCode = "200", description = "Задачи удалены, в ответе число удаленных задач"),
+            @ApiResponse(responseCode = "400", description = "Не указаны условия выборки"),
+            @ApiResponse(responseCode = "404", description = "Пользователь не найден")
+    })
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkOperationResponse> deleteTasks(@RequestBody TaskSelection selection) {
+        return ResponseEntity.ok(adminService.deleteTasks(selection));
+    }
+
     @Operation(summary = "Получение задачи по ID", responses = {
             @ApiResponse(responseCode = "200", description = "Задача найдена"),
             @ApiResponse(responseCode = "404", description = "Задача не найдена")
@@ -42,17 +83,69 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getTaskById(taskId));
     }
 
-    @Operation(summary = "Получение всех задач с пагинацией", responses = {
-            @ApiResponse(responseCode = "200", description = "Список задач получен")
+    @Operation(summary = "Получение всех задач с пагинацией и фильтрами", responses = {
+            @ApiResponse(responseCode = "200", description = "Список задач получен"),
+            @ApiResponse(responseCode = "400", description = "Некорректный период создания"),
+            @ApiResponse(responseCode = "404", description = "Автор или исполнитель не найден")
     })
     @GetMapping
     public ResponseEntity<Page<TaskResponse>> getAllTasks(@ParameterObject @Parameter(
+            description = "Фильтры: statuses, priorities, authorEmail, assigneeEmail, createdFrom, createdTo"
+    ) TaskFilter filter, @ParameterObject @Parameter(
             description = "Параметры пагинации",
             schema = @Schema(
                     example = "{\"page\": 0, \"size\": 10, \"sort\": [\"createdAt,DESC\"]}"
             )
     ) Pageable pageable) {
-        return ResponseEntity.ok(adminService.getAllTasks(pageable));
+        return ResponseEntity.ok(adminService.getAllTasks(filter, pageable));
+    }
+
+    @Operation(summary = "Получение всех задач с курсорной пагинацией", responses = {
+            @ApiResponse(responseCode = "200", description = "Список задач получен"),
+            @ApiResponse(responseCode = "400", description = "Некорректный курсор или размер страницы")
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<TaskResponse>> getAllTasksByCursor(
+            @Parameter(description = "Курсор из nextCursor предыдущей страницы; пусто для первой страницы")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(adminService.getAllTasksByCursor(cursor, size));
+    }
+
+    @Operation(summary = "Статистика задач по статусам и приоритетам для дашборда", responses = {
+            @ApiResponse(responseCode = "200", description = "Итоги и разбивка по исполнителям"),
+            @ApiResponse(responseCode = "404", description = "Исполнитель не найден")
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getTaskStats(
+            @Parameter(description = "Email исполнителя; пусто — все исполнители")
+            @RequestParam(required = false) String assigneeEmail) {
+        return ResponseEntity.ok(adminService.getTaskStats(assigneeEmail));
+    }
+
+    @Operation(summary = "Полнотекстовый поиск по названию, описанию и комментариям задач", responses = {
+            @ApiResponse(responseCode = "200", description = "Найденные задачи по убыванию релевантности"),
+            @ApiResponse(responseCode = "400", description = "Пустой запрос, некорректный курсор или размер страницы")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<TaskSearchResult>> searchTasks(
+            @Parameter(description = "Поисковый запрос: слова, \"точная фраза\", OR, -исключение")
+            @RequestParam String q,
+            @Parameter(description = "Курсор из nextCursor предыдущей страницы; пусто для первой страницы")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(adminService.searchTasks(q, cursor, size));
+    }
+
+    @Operation(summary = "Подсказки при вводе: задачи, слова которых начинаются с введенных", responses = {
+            @ApiResponse(responseCode = "200", description = "Сначала совпадения по названию, затем по описанию"),
+            @ApiResponse(responseCode = "400", description = "Некорректное количество подсказок")
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<TaskSuggestion>> suggestTasks(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(adminService.suggestTasks(q, limit));
     }
 
     @Operation(summary = "Получение задач по email автора", responses = {
@@ -83,6 +176,58 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getTasksByAssignee(assigneeEmail, pageable));
     }
 
+    @Operation(summary = "Получение всех задач срезом без подсчета общего количества", responses = {
+            @ApiResponse(responseCode = "200", description = "Срез задач получен")
+    })
+    @GetMapping("/slice")
+    public ResponseEntity<SliceResponse<TaskResponse>> getAllTasksSlice(
+            @Parameter(description = "Добавить приблизительное общее количество из кэша")
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @ParameterObject @Parameter(
+                    description = "Параметры пагинации",
+                    schema = @Schema(
+                            example = "{\"page\": 0, \"size\": 10, \"sort\": [\"createdAt,DESC\"]}"
+                    )
+            ) Pageable pageable) {
+        return ResponseEntity.ok(adminService.getAllTasksSlice(pageable, withTotal));
+    }
+
+    @Operation(summary = "Получение задач по email автора срезом без подсчета общего количества", responses = {
+            @ApiResponse(responseCode = "200", description = "Срез задач получен"),
+            @ApiResponse(responseCode = "404", description = "Автор не найден")
+    })
+    @GetMapping("/author/slice")
+    public ResponseEntity<SliceResponse<TaskResponse>> getTasksSliceByAuthor(
+            @RequestParam String authorEmail,
+            @Parameter(description = "Добавить приблизительное общее количество из кэша")
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @ParameterObject @Parameter(
+                    description = "Параметры пагинации",
+                    schema = @Schema(
+                            example = "{\"page\": 0, \"size\": 10, \"sort\": [\"createdAt,DESC\"]}"
+                    )
+            ) Pageable pageable) {
+        return ResponseEntity.ok(adminService.getTasksSliceByAuthor(authorEmail, pageable, withTotal));
+    }
+
+    @Operation(summary = "Получение задач по email исполнителя срезом без подсчета общего количества", responses = {
+            @ApiResponse(responseCode = "200", description = "Срез задач получен"),
+            @ApiResponse(responseCode = "404", description = "Исполнитель не найден")
+    })
+    @GetMapping("/assignee/slice")
+    public ResponseEntity<SliceResponse<TaskResponse>> getTasksSliceByAssignee(
+            @RequestParam String assigneeEmail,
+            @Parameter(description = "Добавить приблизительное общее количество из кэша")
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @ParameterObject @Parameter(
+                    description = "Параметры пагинации",
+                    schema = @Schema(
+                            example = "{\"page\": 0, \"size\": 10, \"sort\": [\"createdAt,DESC\"]}"
+                    )
+            ) Pageable pageable) {
+        return ResponseEntity.ok(adminService.getTasksSliceByAssignee(assigneeEmail, pageable, withTotal));
+    }
+
     @Operation(summary = "Обновление задачи", responses = {
             @ApiResponse(responseCode = "200", description = "Задача успешно обновлена"),
             @ApiResponse(responseCode = "404", description = "Задача или исполнитель не найдены")
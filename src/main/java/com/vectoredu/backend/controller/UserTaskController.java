@@ -1,6 +1,9 @@
 package com.vectoredu.backend.controller;
 
+import com.vectoredu.backend.dto.request.taskRequestDto.TaskFilter;
 import com.vectoredu.backend.dto.response.CommentResponse;
+import com.vectoredu.backend.dto.response.CursorPage;
+import com.vectoredu.backend.dto.response.SliceResponse;
 import com.vectoredu.backend.dto.response.TaskResponse;
 import com.vectoredu.backend.model.enums.Status;
 import com.vectoredu.backend.service.UserTaskService;
@@ -43,17 +46,49 @@ public class UserTaskController {
         return ResponseEntity.ok(userTaskService.addComment(taskId, commentText));
     }
 
-    @Operation(summary = "Получение всех задач текущего пользователя с пагинацией", responses = {
-            @ApiResponse(responseCode = "200", description = "Список задач получен")
+    @Operation(summary = "Получение всех задач текущего пользователя с пагинацией и фильтрами", responses = {
+            @ApiResponse(responseCode = "200", description = "Список задач получен"),
+            @ApiResponse(responseCode = "400", description = "Некорректный период создания"),
+            @ApiResponse(responseCode = "404", description = "Автор не найден")
     })
     @GetMapping
     public ResponseEntity<Page<TaskResponse>> getAllTasksForUser(@ParameterObject @Parameter(
+            description = "Фильтры: statuses, priorities, authorEmail, createdFrom, createdTo; исполнитель — текущий пользователь"
+    ) TaskFilter filter, @ParameterObject @Parameter(
             description = "Параметры пагинации",
             schema = @Schema(
                     example = "{\"page\": 0, \"size\": 10, \"sort\": [\"createdAt,DESC\"]}"
             )
     ) Pageable pageable) {
-        Page<TaskResponse> taskResponses = userTaskService.getAllTasksForUser(pageable);
+        Page<TaskResponse> taskResponses = userTaskService.getAllTasksForUser(filter, pageable);
         return ResponseEntity.ok(taskResponses);
     }
+
+    @Operation(summary = "Получение задач текущего пользователя срезом без подсчета общего количества", responses = {
+            @ApiResponse(responseCode = "200", description = "Срез задач получен")
+    })
+    @GetMapping("/slice")
+    public ResponseEntity<SliceResponse<TaskResponse>> getTasksSliceForUser(
+            @Parameter(description = "Добавить приблизительное общее количество из кэша")
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @ParameterObject @Parameter(
+                    description = "Параметры пагинации",
+                    schema = @Schema(
+                            example = "{\"page\": 0, \"size\": 10, \"sort\": [\"createdAt,DESC\"]}"
+                    )
+            ) Pageable pageable) {
+        return ResponseEntity.ok(userTaskService.getTasksSliceForUser(pageable, withTotal));
+    }
+
+    @Operation(summary = "Получение задач текущего пользователя с курсорной пагинацией", responses = {
+            @ApiResponse(responseCode = "200", description = "Список задач получен"),
+            @ApiResponse(responseCode = "400", description = "Некорректный курсор или размер страницы")
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<TaskResponse>> getTasksForUserByCursor(
+            @Parameter(description = "Курсор из nextCursor предыдущей страницы; пусто для первой страницы")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userTaskService.getTasksForUserByCursor(cursor, size));
+    }
 }
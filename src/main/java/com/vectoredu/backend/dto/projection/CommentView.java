@@ -0,0 +1,8 @@
+package com.vectoredu.backend.dto.projection;
+
+// Текст комментария вместе с идентификатором задачи для группировки по странице
+public record CommentView(
+        Long taskId,
+        String text
+) {
+}
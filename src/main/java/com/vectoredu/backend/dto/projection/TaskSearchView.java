@@ -0,0 +1,18 @@
+package com.vectoredu.backend.dto.projection;
+
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Status;
+
+// Строка результата поиска: задача, ее релевантность и фрагмент текста с подсветкой совпадений
+public record TaskSearchView(
+        Long id,
+        String title,
+        String description,
+        Priority priority,
+        Status status,
+        String assigneeFirstName,
+        String assigneeLastName,
+        float rank,
+        String snippet
+) {
+}
@@ -0,0 +1,16 @@
+package com.vectoredu.backend.dto.projection;
+
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Status;
+
+// Строка task_stats: число задач исполнителя с данными статусом и приоритетом
+public record TaskStatsView(
+        Long assigneeId,
+        String assigneeEmail,
+        String assigneeFirstName,
+        String assigneeLastName,
+        Status status,
+        Priority priority,
+        long taskCount
+) {
+}
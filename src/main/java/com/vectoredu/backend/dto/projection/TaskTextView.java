@@ -0,0 +1,12 @@
+package com.vectoredu.backend.dto.projection;
+
+import java.time.LocalDateTime;
+
+// Текстовые поля задачи и момент ее изменения для индекса подсказок
+public record TaskTextView(
+        Long id,
+        String title,
+        String description,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,19 @@
+package com.vectoredu.backend.dto.projection;
+
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Status;
+
+import java.time.LocalDateTime;
+
+// Строка списка задач: ровно те колонки, которые нужны TaskResponse, без загрузки сущностей
+public record TaskView(
+        Long id,
+        String title,
+        String description,
+        Priority priority,
+        Status status,
+        String assigneeFirstName,
+        String assigneeLastName,
+        LocalDateTime createdAt
+) {
+}
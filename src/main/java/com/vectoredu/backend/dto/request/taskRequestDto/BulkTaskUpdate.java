@@ -0,0 +1,26 @@
+package com.vectoredu.backend.dto.request.taskRequestDto;
+
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain=true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkTaskUpdate {
+
+    private TaskSelection selection;
+
+    // Новые значения; незаполненные поля не меняются
+    private Status status;
+
+    private Priority priority;
+
+    private String assigneeEmail;
+}
@@ -0,0 +1,37 @@
+package com.vectoredu.backend.dto.request.taskRequestDto;
+
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Фильтр списка задач из параметров запроса: условия объединяются через AND, внутри множества — через OR.
+// Период создания полуоткрытый: createdFrom включительно, createdTo не включительно
+@Data
+@Accessors(chain=true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskFilter {
+
+    private List<Status> statuses;
+
+    private List<Priority> priorities;
+
+    private String authorEmail;
+
+    private String assigneeEmail;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+}
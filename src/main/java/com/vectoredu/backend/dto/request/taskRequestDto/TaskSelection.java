@@ -0,0 +1,27 @@
+package com.vectoredu.backend.dto.request.taskRequestDto;
+
+import com.vectoredu.backend.model.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+// Выборка задач для массовой операции: условия объединяются через AND, хотя бы одно обязательно
+@Data
+@Accessors(chain=true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskSelection {
+
+    private List<Long> taskIds;
+
+    private String authorEmail;
+
+    private String assigneeEmail;
+
+    private Status status;
+}
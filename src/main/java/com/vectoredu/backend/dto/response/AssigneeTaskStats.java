@@ -0,0 +1,30 @@
+package com.vectoredu.backend.dto.response;
+
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.Map;
+
+@Data
+@Accessors(chain=true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AssigneeTaskStats {
+    private String assigneeEmail;
+
+    private String assigneeFirstName;
+
+    private String assigneeLastName;
+
+    private long total;
+
+    private Map<Status, Long> byStatus;
+
+    private Map<Priority, Long> byPriority;
+}
@@ -0,0 +1,17 @@
+package com.vectoredu.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain=true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkOperationResponse {
+    // Число задач, затронутых операцией
+    private int affected;
+}
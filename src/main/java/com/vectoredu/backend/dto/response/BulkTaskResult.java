@@ -0,0 +1,23 @@
+package com.vectoredu.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain=true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkTaskResult {
+    // Позиция задачи во входном списке
+    private int index;
+
+    // Заполняется, если задача создана
+    private TaskResponse task;
+
+    // Заполняется, если задача отклонена
+    private String error;
+}
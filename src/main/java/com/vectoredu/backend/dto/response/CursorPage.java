@@ -0,0 +1,22 @@
+package com.vectoredu.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+@Data
+@Accessors(chain=true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private List<T> content;
+
+    private String nextCursor;
+
+    private boolean hasNext;
+}
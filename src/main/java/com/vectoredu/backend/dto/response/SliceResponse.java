@@ -0,0 +1,27 @@
+package com.vectoredu.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+@Data
+@Accessors(chain=true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SliceResponse<T> {
+    private List<T> content;
+
+    private int number;
+
+    private int size;
+
+    private boolean hasNext;
+
+    // Заполняется только по запросу и может отставать от реального числа задач
+    private Long approximateTotal;
+}
@@ -0,0 +1,29 @@
+package com.vectoredu.backend.dto.response;
+
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+import java.util.Map;
+
+// Сводка для дашборда: итоги по всем выбранным исполнителям и разбивка по каждому из них.
+// В картах есть все значения перечислений, отсутствующие — с нулем
+@Data
+@Accessors(chain=true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskStatsResponse {
+    private long total;
+
+    private Map<Status, Long> byStatus;
+
+    private Map<Priority, Long> byPriority;
+
+    private List<AssigneeTaskStats> assignees;
+}
@@ -6,7 +6,10 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,8 +21,10 @@ import java.util.List;
 @Getter
 @Setter
 public class Task {
+    // Последовательность с шагом 50 вместо IDENTITY: идентификаторы выдаются пачкой, вставки идут JDBC-пакетами
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -29,6 +34,7 @@ public class Task {
     private String description;
 
     @Enumerated(EnumType.STRING)
+    @NotNull
     private Status status;
 
     @Enumerated(EnumType.STRING)
@@ -43,6 +49,14 @@ public class Task {
     @JoinColumn(name = "assignee_id", nullable = false)
     private User assignee;
 
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @Builder.Default
     private List<Comment> comments = new ArrayList<>();
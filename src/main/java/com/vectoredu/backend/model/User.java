@@ -53,6 +53,10 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private Role role;
 
+    // Версия токенов: попадает в JWT и увеличивается, когда ранее выданные токены нужно отозвать
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     public User(String firstName, String lastName, String email, String password) {
         this.firstName = firstName;
         this.lastName = lastName;
@@ -0,0 +1,7 @@
+package com.vectoredu.backend.model.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
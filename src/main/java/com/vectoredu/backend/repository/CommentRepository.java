@@ -1,19 +1,21 @@
 package com.vectoredu.backend.repository;
 
+import com.vectoredu.backend.dto.projection.CommentView;
 import com.vectoredu.backend.model.Comment;
 import com.vectoredu.backend.model.Task;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByTask(Task task);
 
-    @Modifying
-    @Transactional
-    void deleteByTask(Task task);
+    @Query("select new com.vectoredu.backend.dto.projection.CommentView(c.task.id, c.text) "
+            + "from Comment c where c.task.id in :taskIds order by c.id")
+    List<CommentView> findViewsByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
 }
@@ -0,0 +1,27 @@
+package com.vectoredu.backend.repository;
+
+import com.vectoredu.backend.model.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // SKIP LOCKED: несколько экземпляров диспетчера разбирают очередь, не блокируя друг друга
+    @Query(value = "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "AND (locked_until IS NULL OR locked_until < :now) "
+            + "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutbox> findDispatchable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("update EmailOutbox e set e.status = com.vectoredu.backend.model.enums.OutboxStatus.SENT, "
+            + "e.sentAt = :sentAt, e.lockedUntil = null where e.id in :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+}
@@ -4,9 +4,12 @@ import com.vectoredu.backend.model.PasswordResetToken;
 import com.vectoredu.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -14,9 +17,16 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
 
     Optional<PasswordResetToken> findByToken(String token);
 
-    void deleteByToken(String token);
+    // Возвращает число удаленных токенов: 0, если токен уже использован
+    long deleteByToken(String token);
 
     @Modifying
     @Transactional
     void deleteByUser(User user);
+
+    @Modifying
+    @Query(value = "DELETE FROM reset_password WHERE id IN ("
+            + "SELECT id FROM reset_password WHERE expiration_date < :now "
+            + "ORDER BY expiration_date LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
 }
@@ -0,0 +1,22 @@
+package com.vectoredu.backend.repository;
+
+import com.vectoredu.backend.dto.projection.TaskView;
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Status;
+
+import java.util.List;
+import java.util.Optional;
+
+// Массовые операции над задачами: один SQL-оператор на всю выборку, без загрузки сущностей
+public interface TaskBulkOperations {
+
+    // Изменяет только переданные (не null) поля; возвращает число измененных задач
+    int updateMatching(TaskCriteria criteria, Status status, Priority priority, User assignee);
+
+    // Комментарии удаляет база по ON DELETE CASCADE; данные удаленной задачи возвращает RETURNING
+    Optional<TaskView> deleteReturning(Long taskId);
+
+    // Возвращает идентификаторы удаленных задач
+    List<Long> deleteMatching(TaskCriteria criteria);
+}
@@ -0,0 +1,135 @@
+package com.vectoredu.backend.repository;
+
+import com.vectoredu.backend.dto.projection.TaskView;
+import com.vectoredu.backend.model.Task;
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Status;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class TaskBulkOperationsImpl implements TaskBulkOperations {
+
+    private static final String DELETE_RETURNING_SQL = """
+            DELETE FROM tasks t
+            USING users a
+            WHERE t.id = :id AND a.id = t.assignee_id
+            RETURNING t.id, t.title, t.description, t.priority, t.status, a.first_name, a.last_name, t.created_at
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateMatching(TaskCriteria criteria, Status status, Priority priority, User assignee) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+
+        if (status != null) {
+            update.set(task.<Status>get("status"), status);
+        }
+        if (priority != null) {
+            update.set(task.<Priority>get("priority"), priority);
+        }
+        if (assignee != null) {
+            update.set(task.<User>get("assignee"), assignee);
+        }
+        // Массовый UPDATE обходит @UpdateTimestamp, время изменения проставляется явно
+        update.set(task.<LocalDateTime>get("updatedAt"), LocalDateTime.now());
+        update.where(predicates(cb, task, criteria));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public Optional<TaskView> deleteReturning(Long taskId) {
+        List<Object[]> rows = entityManager.createNativeQuery(DELETE_RETURNING_SQL)
+                .setParameter("id", taskId)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("title", String.class)
+                .addScalar("description", String.class)
+                .addScalar("priority", String.class)
+                .addScalar("status", String.class)
+                .addScalar("first_name", String.class)
+                .addScalar("last_name", String.class)
+                .addScalar("created_at", LocalDateTime.class)
+                .getResultList();
+
+        return rows.stream().findFirst().map(row -> new TaskView(
+                (Long) row[0],
+                (String) row[1],
+                (String) row[2],
+                Priority.valueOf((String) row[3]),
+                row[4] == null ? null : Status.valueOf((String) row[4]),
+                (String) row[5],
+                (String) row[6],
+                (LocalDateTime) row[7]));
+    }
+
+    // Нативный DELETE ... RETURNING: JPQL не умеет возвращать удаленные строки
+    @Override
+    public List<Long> deleteMatching(TaskCriteria criteria) {
+        List<String> conditions = new ArrayList<>();
+        if (criteria.ids() != null && !criteria.ids().isEmpty()) {
+            conditions.add("id IN (:ids)");
+        }
+        if (criteria.authorId() != null) {
+            conditions.add("author_id = :authorId");
+        }
+        if (criteria.assigneeId() != null) {
+            conditions.add("assignee_id = :assigneeId");
+        }
+        if (criteria.status() != null) {
+            conditions.add("status = :status");
+        }
+
+        Query delete = entityManager.createNativeQuery(
+                "DELETE FROM tasks WHERE " + String.join(" AND ", conditions) + " RETURNING id");
+        if (criteria.ids() != null && !criteria.ids().isEmpty()) {
+            delete.setParameter("ids", criteria.ids());
+        }
+        if (criteria.authorId() != null) {
+            delete.setParameter("authorId", criteria.authorId());
+        }
+        if (criteria.assigneeId() != null) {
+            delete.setParameter("assigneeId", criteria.assigneeId());
+        }
+        if (criteria.status() != null) {
+            delete.setParameter("status", criteria.status().name());
+        }
+
+        return delete.unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .getResultList();
+    }
+
+    private static Predicate[] predicates(CriteriaBuilder cb, Root<Task> task, TaskCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.ids() != null && !criteria.ids().isEmpty()) {
+            predicates.add(task.get("id").in(criteria.ids()));
+        }
+        if (criteria.authorId() != null) {
+            predicates.add(cb.equal(task.get("author").get("id"), criteria.authorId()));
+        }
+        if (criteria.assigneeId() != null) {
+            predicates.add(cb.equal(task.get("assignee").get("id"), criteria.assigneeId()));
+        }
+        if (criteria.status() != null) {
+            predicates.add(cb.equal(task.get("status"), criteria.status()));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+}
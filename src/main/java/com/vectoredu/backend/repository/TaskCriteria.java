@@ -0,0 +1,13 @@
+package com.vectoredu.backend.repository;
+
+import com.vectoredu.backend.model.enums.Status;
+
+import java.util.Collection;
+
+// Условия выборки задач для массовых операций; незаполненные поля не участвуют в условии
+public record TaskCriteria(Collection<Long> ids, Long authorId, Long assigneeId, Status status) {
+
+    public boolean isEmpty() {
+        return (ids == null || ids.isEmpty()) && authorId == null && assigneeId == null && status == null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.vectoredu.backend.repository;
+
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Status;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+// Условия фильтра списков задач; незаполненные поля и пустые множества не участвуют в условии
+public record TaskFilterCriteria(Collection<Status> statuses, Collection<Priority> priorities, Long authorId,
+                                 Long assigneeId, LocalDateTime createdFrom, LocalDateTime createdTo) {
+
+    public boolean isEmpty() {
+        return (statuses == null || statuses.isEmpty()) && (priorities == null || priorities.isEmpty())
+                && authorId == null && assigneeId == null && createdFrom == null && createdTo == null;
+    }
+
+    public TaskFilterCriteria withAssigneeId(Long assigneeId) {
+        return new TaskFilterCriteria(statuses, priorities, authorId, assigneeId, createdFrom, createdTo);
+    }
+}
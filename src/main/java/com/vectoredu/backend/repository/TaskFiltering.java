@@ -0,0 +1,12 @@
+package com.vectoredu.backend.repository;
+
+import com.vectoredu.backend.dto.projection.TaskView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+// Списки задач с произвольным набором фильтров: одна выборка-проекция, собранная Criteria API под набор условий
+public interface TaskFiltering {
+
+    // Без сортировки в pageable — новые задачи первыми (created_at DESC, id DESC), как в keyset-списках
+    Page<TaskView> findViews(TaskFilterCriteria criteria, Pageable pageable);
+}
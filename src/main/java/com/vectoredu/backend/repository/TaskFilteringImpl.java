@@ -0,0 +1,95 @@
+package com.vectoredu.backend.repository;
+
+import com.vectoredu.backend.dto.projection.TaskView;
+import com.vectoredu.backend.model.Task;
+import com.vectoredu.backend.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskFilteringImpl implements TaskFiltering {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TaskView> findViews(TaskFilterCriteria criteria, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskView> query = cb.createQuery(TaskView.class);
+        Root<Task> task = query.from(Task.class);
+        Join<Task, User> assignee = task.join("assignee");
+
+        query.select(cb.construct(TaskView.class,
+                        task.get("id"), task.get("title"), task.get("description"), task.get("priority"),
+                        task.get("status"), assignee.get("firstName"), assignee.get("lastName"), task.get("createdAt")))
+                .where(predicates(cb, task, criteria))
+                .orderBy(orders(cb, task, pageable.getSort()));
+
+        TypedQuery<TaskView> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        // COUNT выполняется, только если по неполной странице нельзя вычислить общее число
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(criteria));
+    }
+
+    private long count(TaskFilterCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(cb.count(task)).where(predicates(cb, task, criteria));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // Сравнение с author.id и assignee.id Hibernate переводит в условие на колонку внешнего ключа, без JOIN
+    private static Predicate[] predicates(CriteriaBuilder cb, Root<Task> task, TaskFilterCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.statuses() != null && !criteria.statuses().isEmpty()) {
+            predicates.add(task.get("status").in(criteria.statuses()));
+        }
+        if (criteria.priorities() != null && !criteria.priorities().isEmpty()) {
+            predicates.add(task.get("priority").in(criteria.priorities()));
+        }
+        if (criteria.authorId() != null) {
+            predicates.add(cb.equal(task.get("author").get("id"), criteria.authorId()));
+        }
+        if (criteria.assigneeId() != null) {
+            predicates.add(cb.equal(task.get("assignee").get("id"), criteria.assigneeId()));
+        }
+        if (criteria.createdFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(task.<LocalDateTime>get("createdAt"), criteria.createdFrom()));
+        }
+        if (criteria.createdTo() != null) {
+            predicates.add(cb.lessThan(task.<LocalDateTime>get("createdAt"), criteria.createdTo()));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    // id в конце порядка делает постраничный вывод устойчивым при совпадающих значениях сортировки
+    private static List<Order> orders(CriteriaBuilder cb, Root<Task> task, Sort sort) {
+        if (sort.isUnsorted()) {
+            return List.of(cb.desc(task.get("createdAt")), cb.desc(task.get("id")));
+        }
+        List<Order> orders = new ArrayList<>(QueryUtils.toOrders(sort, task, cb));
+        if (sort.getOrderFor("id") == null) {
+            orders.add(cb.desc(task.get("id")));
+        }
+        return orders;
+    }
+}
@@ -1,16 +1,91 @@
 package com.vectoredu.backend.repository;
 
+import com.vectoredu.backend.dto.projection.TaskTextView;
+import com.vectoredu.backend.dto.projection.TaskView;
 import com.vectoredu.backend.model.Task;
 import com.vectoredu.backend.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    Page<Task> findByAuthor(User author, Pageable pageable);
-    Page<Task> findByAssignee(User assignee, Pageable pageable);
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskBulkOperations, TaskSearch, TaskFiltering,
+        TaskStatistics {
+    String TASK_VIEW_QUERY = "select new com.vectoredu.backend.dto.projection.TaskView("
+            + "t.id, t.title, t.description, t.priority, t.status, a.firstName, a.lastName, t.createdAt) "
+            + "from Task t join t.assignee a";
+    String KEYSET_CONDITION = "(t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id))";
+    String KEYSET_ORDER = " order by t.createdAt desc, t.id desc";
+
+    // Проекции для списков: в контекст персистентности не попадают ни задачи, ни пользователи
+    @Query(value = TASK_VIEW_QUERY,
+            countQuery = "select count(t) from Task t")
+    Page<TaskView> findAllViews(Pageable pageable);
+
+    @Query(value = TASK_VIEW_QUERY + " where t.author = :author",
+            countQuery = "select count(t) from Task t where t.author = :author")
+    Page<TaskView> findViewsByAuthor(@Param("author") User author, Pageable pageable);
+
+    @Query(value = TASK_VIEW_QUERY + " where t.assignee = :assignee",
+            countQuery = "select count(t) from Task t where t.assignee = :assignee")
+    Page<TaskView> findViewsByAssignee(@Param("assignee") User assignee, Pageable pageable);
+
+    // Срезы без COUNT: Spring Data читает size + 1 строк и по ним определяет hasNext
+    @Query(TASK_VIEW_QUERY)
+    Slice<TaskView> findAllViewSlice(Pageable pageable);
+
+    @Query(TASK_VIEW_QUERY + " where t.author = :author")
+    Slice<TaskView> findViewSliceByAuthor(@Param("author") User author, Pageable pageable);
+
+    @Query(TASK_VIEW_QUERY + " where t.assignee = :assignee")
+    Slice<TaskView> findViewSliceByAssignee(@Param("assignee") User assignee, Pageable pageable);
+
+    long countByAuthor(User author);
+
+    long countByAssignee(User assignee);
+
+    // Keyset-пагинация: без OFFSET и COUNT, любая страница читается по индексу (created_at, id)
+    @Query(TASK_VIEW_QUERY + KEYSET_ORDER)
+    List<TaskView> findFirstViews(Pageable limit);
+
+    @Query(TASK_VIEW_QUERY + " where " + KEYSET_CONDITION + KEYSET_ORDER)
+    List<TaskView> findViewsBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                   Pageable limit);
+
+    @Query(TASK_VIEW_QUERY + " where t.assignee = :assignee" + KEYSET_ORDER)
+    List<TaskView> findFirstViewsByAssignee(@Param("assignee") User assignee, Pageable limit);
+
+    @Query(TASK_VIEW_QUERY + " where t.assignee = :assignee and " + KEYSET_CONDITION + KEYSET_ORDER)
+    List<TaskView> findViewsByAssigneeBefore(@Param("assignee") User assignee,
+                                             @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                             Pageable limit);
+
+    // Прогрев индекса подсказок: пачки по первичному ключу без OFFSET
+    @Query("select new com.vectoredu.backend.dto.projection.TaskTextView(t.id, t.title, t.description, t.updatedAt) "
+            + "from Task t where t.id > :afterId order by t.id")
+    List<TaskTextView> findTextViewsAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    // Обновление индекса подсказок изменениями других экземпляров: задачи, измененные начиная с since
+    @Query("select new com.vectoredu.backend.dto.projection.TaskTextView(t.id, t.title, t.description, t.updatedAt) "
+            + "from Task t where t.updatedAt >= :since and t.id > :afterId order by t.id")
+    List<TaskTextView> findTextViewsUpdatedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                                 Pageable limit);
+
+    // Задачи, удаленные начиная с since: журнал task_deletions ведет триггер на удаление из tasks
+    @Query(value = "SELECT task_id FROM task_deletions WHERE deleted_at >= :since", nativeQuery = true)
+    List<Long> findIdsDeletedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query(value = "DELETE FROM task_deletions WHERE task_id IN ("
+            + "SELECT task_id FROM task_deletions WHERE deleted_at < :before "
+            + "ORDER BY deleted_at LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int deleteDeletionsBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
 }
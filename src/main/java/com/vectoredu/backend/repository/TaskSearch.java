@@ -0,0 +1,14 @@
+package com.vectoredu.backend.repository;
+
+import com.vectoredu.backend.dto.projection.TaskSearchView;
+import com.vectoredu.backend.util.TaskSearchCursor;
+
+import java.util.List;
+
+// Полнотекстовый поиск по generated-колонкам search_vector задач и комментариев (changeset 008)
+public interface TaskSearch {
+
+    // Задачи, у которых с запросом совпадает название, описание или комментарий, по убыванию релевантности.
+    // after == null — первая страница
+    List<TaskSearchView> search(String query, TaskSearchCursor after, int limit);
+}
@@ -0,0 +1,87 @@
+package com.vectoredu.backend.repository;
+
+import com.vectoredu.backend.dto.projection.TaskSearchView;
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Status;
+import com.vectoredu.backend.util.TaskSearchCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+
+import java.util.List;
+
+public class TaskSearchImpl implements TaskSearch {
+
+    // Совпадения ищутся по GIN-индексам; для задачи берется лучшее совпадение (сама задача или комментарий).
+    // ts_headline дорогой, поэтому считается только для строк страницы
+    private static final String SEARCH_SQL = """
+            WITH q AS (SELECT websearch_to_tsquery('russian', :query) AS query),
+            matches AS (
+                SELECT DISTINCT ON (task_id) task_id, rank, comment_id
+                FROM (
+                    SELECT t.id AS task_id, ts_rank(t.search_vector, q.query) AS rank, CAST(NULL AS BIGINT) AS comment_id
+                    FROM tasks t, q
+                    WHERE t.search_vector @@ q.query
+                    UNION ALL
+                    SELECT c.task_id, ts_rank(c.search_vector, q.query), c.id
+                    FROM comments c, q
+                    WHERE c.search_vector @@ q.query
+                ) m
+                ORDER BY task_id, rank DESC, comment_id NULLS FIRST
+            ),
+            page AS (
+                SELECT task_id, rank, comment_id
+                FROM matches
+                %s
+                ORDER BY rank DESC, task_id DESC
+                LIMIT :limit
+            )
+            SELECT t.id, t.title, t.description, t.priority, t.status, a.first_name, a.last_name, p.rank,
+                   ts_headline('russian', coalesce(c.text, t.title || ' — ' || t.description), q.query,
+                               'StartSel=<mark>, StopSel=</mark>, MinWords=5, MaxWords=25, MaxFragments=2') AS snippet
+            FROM page p
+            JOIN tasks t ON t.id = p.task_id
+            JOIN users a ON a.id = t.assignee_id
+            LEFT JOIN comments c ON c.id = p.comment_id
+            CROSS JOIN q
+            ORDER BY p.rank DESC, p.task_id DESC
+            """;
+    private static final String KEYSET_CONDITION = "WHERE (rank, task_id) < (CAST(:rank AS REAL), :id)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskSearchView> search(String query, TaskSearchCursor after, int limit) {
+        Query search = entityManager.createNativeQuery(SEARCH_SQL.formatted(after == null ? "" : KEYSET_CONDITION))
+                .setParameter("query", query)
+                .setParameter("limit", limit);
+        if (after != null) {
+            search.setParameter("rank", after.rank()).setParameter("id", after.id());
+        }
+
+        List<Object[]> rows = search.unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("title", String.class)
+                .addScalar("description", String.class)
+                .addScalar("priority", String.class)
+                .addScalar("status", String.class)
+                .addScalar("first_name", String.class)
+                .addScalar("last_name", String.class)
+                .addScalar("rank", Float.class)
+                .addScalar("snippet", String.class)
+                .getResultList();
+
+        return rows.stream().map(row -> new TaskSearchView(
+                (Long) row[0],
+                (String) row[1],
+                (String) row[2],
+                Priority.valueOf((String) row[3]),
+                row[4] == null ? null : Status.valueOf((String) row[4]),
+                (String) row[5],
+                (String) row[6],
+                (Float) row[7],
+                (String) row[8])).toList();
+    }
+}
@@ -0,0 +1,12 @@
+package com.vectoredu.backend.repository;
+
+import com.vectoredu.backend.dto.projection.TaskStatsView;
+
+import java.util.List;
+
+// Статистика задач из счетчиков task_stats, которые ведут триггеры на tasks: чтение не зависит от числа задач
+public interface TaskStatistics {
+
+    // assigneeId == null — статистика по всем исполнителям; строки упорядочены по исполнителю
+    List<TaskStatsView> findStats(Long assigneeId);
+}
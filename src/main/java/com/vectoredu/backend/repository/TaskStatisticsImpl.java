@@ -0,0 +1,53 @@
+package com.vectoredu.backend.repository;
+
+import com.vectoredu.backend.dto.projection.TaskStatsView;
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Status;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+
+import java.util.List;
+
+public class TaskStatisticsImpl implements TaskStatistics {
+
+    // Нулевые счетчики остаются в таблице после удаления или переназначения задач, в ответ они не попадают
+    private static final String STATS_SQL = """
+            SELECT s.assignee_id, u.email, u.first_name, u.last_name, s.status, s.priority, s.task_count
+            FROM task_stats s
+            JOIN users u ON u.id = s.assignee_id
+            WHERE s.task_count > 0 %s
+            ORDER BY s.assignee_id, s.status, s.priority
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskStatsView> findStats(Long assigneeId) {
+        Query query = entityManager.createNativeQuery(
+                STATS_SQL.formatted(assigneeId == null ? "" : "AND s.assignee_id = :assigneeId"));
+        if (assigneeId != null) {
+            query.setParameter("assigneeId", assigneeId);
+        }
+        List<Object[]> rows = query.unwrap(NativeQuery.class)
+                .addScalar("assignee_id", Long.class)
+                .addScalar("email", String.class)
+                .addScalar("first_name", String.class)
+                .addScalar("last_name", String.class)
+                .addScalar("status", String.class)
+                .addScalar("priority", String.class)
+                .addScalar("task_count", Long.class)
+                .getResultList();
+
+        return rows.stream().map(row -> new TaskStatsView(
+                (Long) row[0],
+                (String) row[1],
+                (String) row[2],
+                (String) row[3],
+                Status.valueOf((String) row[4]),
+                Priority.valueOf((String) row[5]),
+                (Long) row[6])).toList();
+    }
+}
@@ -2,8 +2,13 @@ package com.vectoredu.backend.repository;
 
 import com.vectoredu.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,5 +16,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    List<User> findByEmailIn(Collection<String> emails);
+
     Optional<User> findByVerificationCode(String verificationCode);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    // Пачка регистраций, не подтвержденных до expiredBefore. Пользователи, на которых уже ссылаются задачи,
+    // комментарии или токены сброса, не удаляются. Возвращает почту удаленных для сброса кэша.
+    // Без @Modifying: DELETE ... RETURNING отдает строки и выполняется как выборка (getResultList),
+    // а @Modifying предназначен для executeUpdate с числом измененных строк
+    @Query(value = "DELETE FROM users WHERE id IN ("
+            + "SELECT u.id FROM users u WHERE u.enabled = false AND u.verification_expiration < :expiredBefore "
+            + "AND NOT EXISTS (SELECT 1 FROM tasks t WHERE t.assignee_id = u.id) "
+            + "AND NOT EXISTS (SELECT 1 FROM tasks t WHERE t.author_id = u.id) "
+            + "AND NOT EXISTS (SELECT 1 FROM comments c WHERE c.author_id = u.id) "
+            + "AND NOT EXISTS (SELECT 1 FROM reset_password r WHERE r.user_id = u.id) "
+            + "ORDER BY u.verification_expiration LIMIT :limit FOR UPDATE SKIP LOCKED) "
+            + "RETURNING email", nativeQuery = true)
+    List<String> deleteExpiredUnverified(@Param("expiredBefore") LocalDateTime expiredBefore, @Param("limit") int limit);
+
+    // Транзакционная advisory-блокировка Postgres: снимается при завершении транзакции
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("key") long key);
 }
@@ -1,14 +1,28 @@
 package com.vectoredu.backend.service;
 
+import com.vectoredu.backend.dto.request.taskRequestDto.BulkTaskUpdate;
+import com.vectoredu.backend.dto.request.taskRequestDto.TaskFilter;
+import com.vectoredu.backend.dto.request.taskRequestDto.TaskSelection;
 import com.vectoredu.backend.dto.request.taskRequestDto.TaskToCreate;
 import com.vectoredu.backend.dto.request.taskRequestDto.TaskToUpdate;
+import com.vectoredu.backend.dto.projection.TaskView;
+import com.vectoredu.backend.dto.response.BulkOperationResponse;
+import com.vectoredu.backend.dto.response.BulkTaskResponse;
+import com.vectoredu.backend.dto.response.BulkTaskResult;
 import com.vectoredu.backend.dto.response.CommentResponse;
+import com.vectoredu.backend.dto.response.CursorPage;
+import com.vectoredu.backend.dto.response.SliceResponse;
 import com.vectoredu.backend.dto.response.TaskResponse;
+import com.vectoredu.backend.dto.response.TaskSearchResult;
+import com.vectoredu.backend.dto.response.TaskStatsResponse;
+import com.vectoredu.backend.dto.response.TaskSuggestion;
 import com.vectoredu.backend.model.Comment;
 import com.vectoredu.backend.model.Task;
 import com.vectoredu.backend.model.User;
 import com.vectoredu.backend.model.enums.Status;
 import com.vectoredu.backend.repository.CommentRepository;
+import com.vectoredu.backend.repository.TaskCriteria;
+import com.vectoredu.backend.repository.TaskFilterCriteria;
 import com.vectoredu.backend.repository.TaskRepository;
 import com.vectoredu.backend.repository.UserRepository;
 import com.vectoredu.backend.util.exception.NotFoundException;
@@ -19,19 +33,34 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminService {
+    private static final int MAX_BULK_SIZE = 500;
+    private static final int MAX_SELECTION_IDS = 1000;
+
     private final TaskRepository taskRepository;
-    private final CommentRepository commentRepository;
     private final UserRepository userRepository;
+    private final CommentRepository commentRepository;
+    private final TaskQueryService taskQueryService;
+    private final TaskSuggestService taskSuggestService;
+    private final UserCacheService userCacheService;
     private final EmailValidator emailValidator;
     private final InputValidator inputValidator;
 
@@ -42,26 +71,138 @@ public class AdminService {
 
         Task task = buildTask(taskToCreate, author, assignee);
         taskRepository.save(task);
+        taskSuggestService.indexAfterCommit(List.of(task));
 
         return mapToTaskResponse(task);
     }
 
+    // Валидация за один проход, все исполнители одним запросом, вставка JDBC-пакетами.
+    // Некорректные задачи не прерывают импорт: по каждой позиции возвращается либо задача, либо ошибка
+    public BulkTaskResponse createTasks(List<TaskToCreate> tasksToCreate) {
+        if (tasksToCreate == null || tasksToCreate.isEmpty()) {
+            throw new ValidationException("Список задач не может быть пустым");
+        }
+        if (tasksToCreate.size() > MAX_BULK_SIZE) {
+            throw new ValidationException("Слишком много задач в одном запросе (макс. " + MAX_BULK_SIZE + ")");
+        }
+
+        BulkTaskResult[] results = new BulkTaskResult[tasksToCreate.size()];
+        for (int i = 0; i < tasksToCreate.size(); i++) {
+            try {
+                if (tasksToCreate.get(i) == null) {
+                    throw new ValidationException("Задача не может быть пустой");
+                }
+                validateTaskInput(tasksToCreate.get(i));
+            } catch (ValidationException e) {
+                results[i] = BulkTaskResult.builder().index(i).error(e.getMessage()).build();
+            }
+        }
+
+        Set<String> assigneeEmails = new HashSet<>();
+        for (int i = 0; i < tasksToCreate.size(); i++) {
+            if (results[i] == null) {
+                assigneeEmails.add(tasksToCreate.get(i).getAssigneeEmail());
+            }
+        }
+        Map<String, User> assignees = assigneeEmails.isEmpty() ? Map.of() : userRepository.findByEmailIn(assigneeEmails)
+                .stream()
+                .collect(Collectors.toMap(User::getEmail, Function.identity()));
+
+        User author = getAuthenticatedUser();
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> taskIndexes = new ArrayList<>();
+        for (int i = 0; i < tasksToCreate.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            TaskToCreate taskToCreate = tasksToCreate.get(i);
+            User assignee = assignees.get(taskToCreate.getAssigneeEmail());
+            if (assignee == null) {
+                results[i] = BulkTaskResult.builder().index(i).error("Исполнитель не найден").build();
+                continue;
+            }
+            tasks.add(buildTask(taskToCreate, author, assignee));
+            taskIndexes.add(i);
+        }
+
+        taskRepository.saveAll(tasks);
+        taskSuggestService.indexAfterCommit(tasks);
+
+        for (int j = 0; j < tasks.size(); j++) {
+            int index = taskIndexes.get(j);
+            results[index] = BulkTaskResult.builder().index(index).task(mapToTaskResponse(tasks.get(j))).build();
+        }
+
+        return BulkTaskResponse.builder()
+                .created(tasks.size())
+                .rejected(tasksToCreate.size() - tasks.size())
+                .results(List.of(results))
+                .build();
+    }
+
     public TaskResponse getTaskById(Long taskId) {
         return mapToTaskResponse(getTask(taskId));
     }
 
-    public Page<TaskResponse> getAllTasks(Pageable pageable) {
-        return taskRepository.findAll(pageable).map(this::mapToTaskResponse);
+    @Transactional(readOnly = true)
+    public Page<TaskResponse> getAllTasks(TaskFilter filter, Pageable pageable) {
+        TaskFilterCriteria criteria = toFilterCriteria(filter);
+        return criteria.isEmpty()
+                ? taskQueryService.findAll(pageable)
+                : taskQueryService.findFiltered(criteria, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public SliceResponse<TaskResponse> getAllTasksSlice(Pageable pageable, boolean withTotal) {
+        return taskQueryService.sliceAll(pageable, withTotal);
+    }
+
+    @Transactional(readOnly = true)
+    public SliceResponse<TaskResponse> getTasksSliceByAuthor(String authorEmail, Pageable pageable, boolean withTotal) {
+        User author = getUserByEmail(authorEmail, "Автор не найден");
+        return taskQueryService.sliceByAuthor(author, pageable, withTotal);
+    }
+
+    @Transactional(readOnly = true)
+    public SliceResponse<TaskResponse> getTasksSliceByAssignee(String assigneeEmail, Pageable pageable, boolean withTotal) {
+        User assignee = getUserByEmail(assigneeEmail, "Исполнитель не найден");
+        return taskQueryService.sliceByAssignee(assignee, pageable, withTotal);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> getAllTasksByCursor(String cursor, int size) {
+        return taskQueryService.scrollAll(cursor, size);
     }
 
+    @Transactional(readOnly = true)
+    public TaskStatsResponse getTaskStats(String assigneeEmail) {
+        Long assigneeId = isValidString(assigneeEmail)
+                ? getUserByEmail(assigneeEmail, "Исполнитель не найден").getId()
+                : null;
+        return taskQueryService.stats(assigneeId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskSearchResult> searchTasks(String query, String cursor, int size) {
+        return taskQueryService.search(query, cursor, size);
+    }
+
+    // Ответ целиком из памяти: транзакция и соединение с БД не нужны
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TaskSuggestion> suggestTasks(String query, int limit) {
+        return taskSuggestService.suggest(query, limit);
+    }
+
+    @Transactional(readOnly = true)
     public Page<TaskResponse> getTasksByAuthor(String authorEmail, Pageable pageable) {
         User author = getUserByEmail(authorEmail, "Автор не найден");
-        return taskRepository.findByAuthor(author, pageable).map(this::mapToTaskResponse);
+        return taskQueryService.findByAuthor(author, pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<TaskResponse> getTasksByAssignee(String assigneeEmail, Pageable pageable) {
         User assignee = getUserByEmail(assigneeEmail, "Исполнитель не найден");
-        return taskRepository.findByAssignee(assignee, pageable).map(this::mapToTaskResponse);
+        return taskQueryService.findByAssignee(assignee, pageable);
     }
 
     public TaskResponse updateTask(Long taskId, TaskToUpdate taskToUpdate) {
@@ -71,15 +212,40 @@ public class AdminService {
 
         updateTaskFields(task, taskToUpdate);
         taskRepository.save(task);
+        taskSuggestService.indexAfterCommit(List.of(task));
 
         return mapToTaskResponse(task);
     }
 
+    // Один UPDATE на всю выборку: например, передача всех задач уволенного сотрудника другому исполнителю
+    public BulkOperationResponse updateTasks(BulkTaskUpdate bulkTaskUpdate) {
+        if (bulkTaskUpdate.getStatus() == null && bulkTaskUpdate.getPriority() == null
+                && !isValidString(bulkTaskUpdate.getAssigneeEmail())) {
+            throw new ValidationException("Не указано ни одного изменения");
+        }
+        TaskCriteria criteria = toCriteria(bulkTaskUpdate.getSelection());
+        User assignee = isValidString(bulkTaskUpdate.getAssigneeEmail())
+                ? getUserByEmail(bulkTaskUpdate.getAssigneeEmail(), "Исполнитель не найден")
+                : null;
+
+        int updated = taskRepository.updateMatching(criteria, bulkTaskUpdate.getStatus(),
+                bulkTaskUpdate.getPriority(), assignee);
+        return BulkOperationResponse.builder().affected(updated).build();
+    }
+
+    // Один DELETE ... RETURNING: задача не загружается, комментарии удаляет каскад в БД
     public TaskResponse deleteTask(Long taskId) {
-        Task task = getTask(taskId);
-        commentRepository.deleteByTask(task);
-        taskRepository.deleteById(taskId);
-        return mapToTaskResponse(task);
+        TaskResponse deleted = taskRepository.deleteReturning(taskId)
+                .map(this::mapToTaskResponse)
+                .orElseThrow(() -> new NotFoundException("Задача не найдена"));
+        taskSuggestService.removeAfterCommit(List.of(taskId));
+        return deleted;
+    }
+
+    public BulkOperationResponse deleteTasks(TaskSelection selection) {
+        List<Long> deleted = taskRepository.deleteMatching(toCriteria(selection));
+        taskSuggestService.removeAfterCommit(deleted);
+        return BulkOperationResponse.builder().affected(deleted.size()).build();
     }
 
     public CommentResponse addCommentToTask(Long taskId, String text) {
@@ -97,16 +263,53 @@ public class AdminService {
         return mapToCommentResponse(comment);
     }
 
+    // Пользователь уже загружен фильтром аутентификации, повторный запрос в БД не нужен
     private User getAuthenticatedUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return getUserByEmail(email, "Пользователь не найден");
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
+        return getUserByEmail(authentication.getName(), "Пользователь не найден");
     }
 
     private User getUserByEmail(String email, String errorMessage) {
-        return userRepository.findByEmail(email)
+        return userCacheService.findByEmail(email)
                 .orElseThrow(() -> new NotFoundException(errorMessage));
     }
 
+    // Пустая выборка запрещена, чтобы случайно не изменить все задачи
+    private TaskCriteria toCriteria(TaskSelection selection) {
+        if (selection == null) {
+            throw new ValidationException("Не указаны условия выборки задач");
+        }
+        if (selection.getTaskIds() != null && selection.getTaskIds().size() > MAX_SELECTION_IDS) {
+            throw new ValidationException("Слишком много идентификаторов задач (макс. " + MAX_SELECTION_IDS + ")");
+        }
+        Long authorId = isValidString(selection.getAuthorEmail())
+                ? getUserByEmail(selection.getAuthorEmail(), "Автор не найден").getId()
+                : null;
+        Long assigneeId = isValidString(selection.getAssigneeEmail())
+                ? getUserByEmail(selection.getAssigneeEmail(), "Исполнитель не найден").getId()
+                : null;
+
+        TaskCriteria criteria = new TaskCriteria(selection.getTaskIds(), authorId, assigneeId, selection.getStatus());
+        if (criteria.isEmpty()) {
+            throw new ValidationException("Не указаны условия выборки задач");
+        }
+        return criteria;
+    }
+
+    private TaskFilterCriteria toFilterCriteria(TaskFilter filter) {
+        Long authorId = isValidString(filter.getAuthorEmail())
+                ? getUserByEmail(filter.getAuthorEmail(), "Автор не найден").getId()
+                : null;
+        Long assigneeId = isValidString(filter.getAssigneeEmail())
+                ? getUserByEmail(filter.getAssigneeEmail(), "Исполнитель не найден").getId()
+                : null;
+        return new TaskFilterCriteria(filter.getStatuses(), filter.getPriorities(), authorId, assigneeId,
+                filter.getCreatedFrom(), filter.getCreatedTo());
+    }
+
     private Task getTask(Long taskId) {
         return taskRepository.findById(taskId)
                 .orElseThrow(() -> new NotFoundException("Задача не найдена"));
@@ -139,7 +342,7 @@ public class AdminService {
             task.setStatus(taskToUpdate.getStatus());
         }
         if (isValidString(taskToUpdate.getAssigneeEmail())) {
-            userRepository.findByEmail(taskToUpdate.getAssigneeEmail())
+            userCacheService.findByEmail(taskToUpdate.getAssigneeEmail())
                     .ifPresent(task::setAssignee);
         }
     }
@@ -199,6 +402,20 @@ public class AdminService {
                 .build();
     }
 
+    // Комментарии удаленной задачи уже удалены каскадом и в ответ не попадают
+    private TaskResponse mapToTaskResponse(TaskView view) {
+        return TaskResponse.builder()
+                .id(view.id())
+                .title(view.title())
+                .description(view.description())
+                .assigneeFirstName(view.assigneeFirstName())
+                .assigneeLastName(view.assigneeLastName())
+                .priority(view.priority())
+                .status(view.status())
+                .comments(List.of())
+                .build();
+    }
+
     private CommentResponse mapToCommentResponse(Comment comment) {
         return CommentResponse.builder()
                 .text(comment.getText())
@@ -10,8 +10,8 @@ import com.vectoredu.backend.repository.UserRepository;
 import com.vectoredu.backend.util.exception.*;
 import com.vectoredu.backend.util.validators.EmailValidator;
 import com.vectoredu.backend.util.validators.PasswordValidator;
+import io.jsonwebtoken.Claims;
 import jakarta.annotation.PostConstruct;
-import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,7 +19,9 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -33,11 +35,13 @@ public class AuthenticationService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
     private final JwtService jwtService;
     private final EmailValidator emailValidator;
     private final PasswordValidator passwordValidator;
     private final PasswordService passwordService;
+    private final UserCacheService userCacheService;
+    private final TransactionTemplate transactionTemplate;
 
     @PostConstruct
     public void createAdminIfNotExists() {
@@ -58,16 +62,25 @@ public class AuthenticationService {
         }
     }
 
-    // Регистрация пользователя
+    // Регистрация пользователя. Пароль хэшируется до транзакции: Hibernate берет соединение из пула в начале
+    // транзакции, и ожидание в очереди BCrypt держало бы его занятым. В транзакции — только запись пользователя
+    // и письма в outbox
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User signup(RegisterUserDto input) {
         validateSignupInput(input);
-        checkUserExistence(input);
-        User userToCreate = createUser(input);
-        sendVerificationEmail(userToCreate);
-        return saveUser(userToCreate);
+        String encodedPassword = passwordEncoder.encode(input.getPassword());
+        return transactionTemplate.execute(status -> {
+            User userToCreate = checkUserExistence(input)
+                    .map(existingUser -> reuseUnverifiedUser(existingUser, input, encodedPassword))
+                    .orElseGet(() -> createUser(input, encodedPassword));
+            sendVerificationEmail(userToCreate);
+            return saveUser(userToCreate);
+        });
     }
 
-    // Аутентификация пользователя
+    // Аутентификация пользователя. Вход только читает, поэтому идет без транзакции: каждый запрос к базе
+    // сразу возвращает соединение в пул, и проверка пароля в очереди BCrypt его не держит
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LoginResponse authenticate(LoginUserDto input) {
         User user = findUserByEmail(input.getEmail());
         checkUserEnabled(user);
@@ -85,9 +98,9 @@ public class AuthenticationService {
 
     // Обновление токена доступа
     public String refreshAccessToken(String refreshToken) {
-        String email = jwtService.extractUsername(refreshToken);
-        User user = findUserByEmail(email);
-        validateRefreshToken(refreshToken, user);
+        Claims claims = jwtService.extractAllClaims(refreshToken);
+        User user = findUserByEmail(claims.getSubject());
+        validateRefreshToken(claims, user);
         return jwtService.generateToken(user);
     }
 
@@ -111,7 +124,8 @@ public class AuthenticationService {
         passwordService.requestPasswordReset(email);
     }
 
-    // Метод для сброса пароля
+    // Метод для сброса пароля: транзакцию после хэширования открывает PasswordService
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void resetPassword(String token, String newPassword) {
         passwordService.resetPassword(token, newPassword);
     }
@@ -134,18 +148,27 @@ public class AuthenticationService {
         }
     }
 
-    // Проверка существования пользователя
-    private void checkUserExistence(RegisterUserDto input) {
+    // Проверка существования пользователя: возвращает не верифицированного пользователя с той же почтой
+    private Optional<User> checkUserExistence(RegisterUserDto input) {
         Optional<User> userOptional = userRepository.findByEmail(input.getEmail());
         userOptional.ifPresent(existingUser -> {
-            if (!existingUser.isEnabled()) {
-                // Удаление существующего не верифицированного пользователя
-                userRepository.delete(existingUser);
-                userRepository.flush();
-            } else {
+            if (existingUser.isEnabled()) {
                 throw new KnownUseCaseException("Пользователь с такой почтой уже зарегистрирован");
             }
         });
+        return userOptional;
+    }
+
+    // Повторная регистрация перезаписывает не верифицированного пользователя одним UPDATE.
+    // Просроченные регистрации удаляет фоновая очистка (ExpiredAccountReaper)
+    private User reuseUnverifiedUser(User existingUser, RegisterUserDto input, String encodedPassword) {
+        existingUser.setFirstName(input.getFirstName());
+        existingUser.setLastName(input.getLastName());
+        existingUser.setPassword(encodedPassword);
+        existingUser.setVerificationCode(generateVerificationCode());
+        existingUser.setVerificationCodeExpiresAt(LocalDateTime.now().plusMinutes(15));
+        userCacheService.evict(existingUser);
+        return existingUser;
     }
 
     private void handleExistingUser(User existingUser, RegisterUserDto input) {
@@ -154,8 +177,7 @@ public class AuthenticationService {
         }
     }
 
-    private User createUser(RegisterUserDto input) {
-        String encodedPassword = passwordEncoder.encode(input.getPassword());
+    private User createUser(RegisterUserDto input, String encodedPassword) {
         return User.builder()
                 .firstName(input.getFirstName())
                 .lastName(input.getLastName())
@@ -201,8 +223,8 @@ public class AuthenticationService {
         return new LoginResponse(jwtToken, jwtService.getExpirationTime(), refreshToken, jwtService.getRefreshExpirationTime());
     }
 
-    private void validateRefreshToken(String refreshToken, User user) {
-        if (!jwtService.isRefreshTokenValid(refreshToken, user)) {
+    private void validateRefreshToken(Claims claims, User user) {
+        if (!jwtService.isRefreshTokenValid(claims, user)) {
             throw new UnauthorizedException("Invalid refresh token");
         }
     }
@@ -223,6 +245,7 @@ public class AuthenticationService {
         user.setVerificationCode(null);
         user.setVerificationCodeExpiresAt(null);
         userRepository.save(user);
+        userCacheService.evict(user);
     }
 
     private void checkUserAlreadyVerified(User user) {
@@ -235,6 +258,7 @@ public class AuthenticationService {
         user.setVerificationCode(generateVerificationCode());
         user.setVerificationCodeExpiresAt(LocalDateTime.now().plusMinutes(15));
         userRepository.save(user);
+        userCacheService.evict(user);
     }
 
     private void sendVerificationEmail(User user) {
@@ -244,12 +268,9 @@ public class AuthenticationService {
         sendEmail(user, subject, htmlMessage);
     }
 
+    // Письмо попадает в outbox в текущей транзакции, отправляет его EmailOutboxDispatcher
     private void sendEmail(User user, String subject, String htmlMessage) {
-        try {
-            emailService.sendVerificationEmail(user.getEmail(), subject, htmlMessage);
-        } catch (MessagingException e) {
-            log.error("Ошибка при отправке email", e);
-        }
+        emailOutboxService.enqueue(user.getEmail(), subject, htmlMessage);
     }
 
     private String generateVerificationEmailContent(String verificationCode) {
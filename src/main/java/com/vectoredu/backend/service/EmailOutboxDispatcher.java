@@ -0,0 +1,68 @@
+package com.vectoredu.backend.service;
+
+import com.vectoredu.backend.model.EmailOutbox;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Фоновая отправка писем из outbox: запросы пользователей не ждут SMTP и не держат соединение с БД
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "mail.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class EmailOutboxDispatcher {
+    private final EmailOutboxService emailOutboxService;
+    private final EmailService emailService;
+
+    @Value("${mail.outbox.batch-size}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval}")
+    public void dispatch() {
+        // Полная пачка означает, что в очереди, скорее всего, есть еще письма
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched == batchSize);
+    }
+
+    // Транзакция держится только на время захвата пачки и записи результатов, но не на время SMTP
+    public int dispatchBatch() {
+        List<EmailOutbox> batch = emailOutboxService.claimBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<MimeMessage, EmailOutbox> messages = new LinkedHashMap<>();
+        for (EmailOutbox email : batch) {
+            try {
+                messages.put(emailService.createMessage(email.getRecipient(), email.getSubject(), email.getBody()), email);
+            } catch (MessagingException e) {
+                emailOutboxService.markFailed(email.getId(), e);
+            }
+        }
+
+        Map<MimeMessage, Exception> failures = emailService.sendAll(messages.keySet());
+
+        List<Long> sent = new ArrayList<>();
+        messages.forEach((message, email) -> {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                sent.add(email.getId());
+            } else {
+                emailOutboxService.markFailed(email.getId(), failure);
+            }
+        });
+        emailOutboxService.markSent(sent);
+
+        return batch.size();
+    }
+}
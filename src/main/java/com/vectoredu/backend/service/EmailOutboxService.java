@@ -0,0 +1,90 @@
+package com.vectoredu.backend.service;
+
+import com.vectoredu.backend.model.EmailOutbox;
+import com.vectoredu.backend.model.enums.OutboxStatus;
+import com.vectoredu.backend.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class EmailOutboxService {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    @Value("${mail.outbox.lease}")
+    private Duration lease;
+
+    @Value("${mail.outbox.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.initial-backoff}")
+    private Duration initialBackoff;
+
+    @Value("${mail.outbox.max-backoff}")
+    private Duration maxBackoff;
+
+    // Письмо фиксируется вместе с транзакцией вызывающего: откат операции отменяет и отправку
+    public void enqueue(String recipient, String subject, String body) {
+        EmailOutbox email = EmailOutbox.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        emailOutboxRepository.save(email);
+    }
+
+    // Забирает пачку писем в аренду; после падения экземпляра аренда истекает и письма отправит другой
+    public List<EmailOutbox> claimBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> batch = emailOutboxRepository.findDispatchable(now, batchSize);
+        LocalDateTime leaseUntil = now.plus(lease);
+        batch.forEach(email -> email.setLockedUntil(leaseUntil));
+        return batch;
+    }
+
+    public void markSent(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            emailOutboxRepository.markSent(ids, LocalDateTime.now());
+        }
+    }
+
+    // Экспоненциальная задержка между попытками; после max-attempts письмо уходит в DEAD
+    public void markFailed(Long id, Exception error) {
+        emailOutboxRepository.findById(id).ifPresent(email -> {
+            int attempts = email.getAttempts() + 1;
+            email.setAttempts(attempts);
+            email.setLockedUntil(null);
+            email.setLastError(truncate(String.valueOf(error.getMessage())));
+
+            if (attempts >= maxAttempts) {
+                email.setStatus(OutboxStatus.DEAD);
+                log.error("Письмо {} для {} не отправлено после {} попыток", email.getId(), email.getRecipient(), attempts, error);
+            } else {
+                email.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+                log.warn("Ошибка при отправке письма {}, попытка {}: {}", email.getId(), attempts, error.getMessage());
+            }
+        });
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
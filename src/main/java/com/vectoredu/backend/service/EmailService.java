@@ -1,18 +1,41 @@
 package com.vectoredu.backend.service;
 
+import com.vectoredu.backend.config.SmtpTransportPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
 import jakarta.mail.internet.MimeMessage;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 @Service
 public class EmailService {
-    @Autowired
-    private JavaMailSender emailSender;
+    private final JavaMailSender emailSender;
+    private final SmtpTransportPool transportPool;
+    private final Timer sentTimer;
+    private final Timer failedTimer;
+
+    public EmailService(JavaMailSender emailSender, SmtpTransportPool transportPool, MeterRegistry meterRegistry) {
+        this.emailSender = emailSender;
+        this.transportPool = transportPool;
+        this.sentTimer = Timer.builder("mail.send")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        this.failedTimer = Timer.builder("mail.send")
+                .tag("result", "failed")
+                .register(meterRegistry);
+    }
 
-    public void sendVerificationEmail(String to, String subject, String text) throws MessagingException {
+    public MimeMessage createMessage(String to, String subject, String text) throws MessagingException {
         MimeMessage message = emailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true);
 
@@ -20,8 +43,56 @@ public class EmailService {
         helper.setSubject(subject);
         helper.setText(text, true);
 
-        emailSender.send(message);
+        return message;
     }
 
+    // Все письма уходят через одно соединение из пула; возвращает письма, которые отправить не удалось
+    public Map<MimeMessage, Exception> sendAll(Collection<MimeMessage> messages) {
+        Map<MimeMessage, Exception> failures = new HashMap<>();
+        List<MimeMessage> pending = List.copyOf(messages);
+        Transport transport = null;
+
+        try {
+            for (int i = 0; i < pending.size(); i++) {
+                MimeMessage message = pending.get(i);
+                if (transport == null) {
+                    try {
+                        transport = transportPool.borrow();
+                    } catch (MessagingException e) {
+                        // Соединения нет: оставшиеся письма уйдут в следующей попытке диспетчера
+                        pending.subList(i, pending.size()).forEach(m -> failures.put(m, e));
+                        break;
+                    }
+                }
 
+                long start = System.nanoTime();
+                try {
+                    send(transport, message);
+                    sentTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                } catch (MessagingException e) {
+                    failedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    failures.put(message, e);
+                    // Отказ по конкретному письму не ломает сессию; разорванное соединение заменяется новым
+                    if (!transport.isConnected()) {
+                        transportPool.release(transport, true);
+                        transport = null;
+                    }
+                }
+            }
+        } finally {
+            if (transport != null) {
+                transportPool.release(transport, false);
+            }
+        }
+
+        return failures;
+    }
+
+    private static void send(Transport transport, MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        message.saveChanges();
+        transport.sendMessage(message, message.getAllRecipients());
+    }
 }
@@ -0,0 +1,102 @@
+package com.vectoredu.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.IntUnaryOperator;
+
+// Фоновая очистка просроченных токенов сброса пароля и не подтвержденных регистраций.
+// Регистрация и запрос сброса пароля больше не удаляют чужие просроченные записи в своих транзакциях.
+// Заодно усекается журнал удаленных задач: обновлению индекса подсказок нужны только недавние удаления
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reaper.enabled", havingValue = "true", matchIfMissing = true)
+public class ExpiredAccountReaper {
+    private final ExpiredAccountService expiredAccountService;
+    private final Counter reclaimedUsers;
+    private final Counter reclaimedResetTokens;
+    private final Counter reclaimedTaskDeletions;
+    private final Counter skippedRuns;
+
+    @Value("${reaper.batch-size}")
+    private int batchSize;
+
+    @Value("${reaper.max-batches}")
+    private int maxBatches;
+
+    @Value("${reaper.unverified-grace}")
+    private Duration unverifiedGrace;
+
+    @Value("${reaper.task-deletions-retention}")
+    private Duration taskDeletionsRetention;
+
+    public ExpiredAccountReaper(ExpiredAccountService expiredAccountService, MeterRegistry meterRegistry) {
+        this.expiredAccountService = expiredAccountService;
+        this.reclaimedUsers = reclaimedCounter(meterRegistry, "users");
+        this.reclaimedResetTokens = reclaimedCounter(meterRegistry, "reset_password");
+        this.reclaimedTaskDeletions = reclaimedCounter(meterRegistry, "task_deletions");
+        this.skippedRuns = Counter.builder("reaper.skipped")
+                .description("Запуски очистки, пропущенные из-за блокировки другого экземпляра")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${reaper.interval}")
+    public void reap() {
+        LocalDateTime now = LocalDateTime.now();
+        int resetTokens = reapInBatches(limit -> expiredAccountService.deleteExpiredResetTokens(now, limit));
+        if (resetTokens == ExpiredAccountService.LOCK_BUSY) {
+            skippedRuns.increment();
+            return;
+        }
+        reclaimedResetTokens.increment(resetTokens);
+
+        int users = reapInBatches(limit -> expiredAccountService.deleteExpiredUnverifiedUsers(now.minus(unverifiedGrace), limit));
+        if (users == ExpiredAccountService.LOCK_BUSY) {
+            skippedRuns.increment();
+            return;
+        }
+        reclaimedUsers.increment(users);
+
+        int taskDeletions = reapInBatches(limit ->
+                expiredAccountService.deleteTaskDeletionsBefore(now.minus(taskDeletionsRetention), limit));
+        if (taskDeletions == ExpiredAccountService.LOCK_BUSY) {
+            skippedRuns.increment();
+            return;
+        }
+        reclaimedTaskDeletions.increment(taskDeletions);
+
+        if (resetTokens > 0 || users > 0) {
+            log.info("Очистка: удалено {} токенов сброса пароля и {} не подтвержденных пользователей", resetTokens, users);
+        }
+    }
+
+    // Неполная пачка означает, что просроченных записей больше нет; max-batches ограничивает длительность запуска
+    private int reapInBatches(IntUnaryOperator deleteBatch) {
+        int total = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            int deleted = deleteBatch.applyAsInt(batchSize);
+            if (deleted == ExpiredAccountService.LOCK_BUSY) {
+                return total == 0 ? ExpiredAccountService.LOCK_BUSY : total;
+            }
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private static Counter reclaimedCounter(MeterRegistry meterRegistry, String table) {
+        return Counter.builder("reaper.reclaimed")
+                .description("Строки, удаленные фоновой очисткой")
+                .tag("table", table)
+                .register(meterRegistry);
+    }
+}
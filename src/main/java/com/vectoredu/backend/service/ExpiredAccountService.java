@@ -0,0 +1,51 @@
+package com.vectoredu.backend.service;
+
+import com.vectoredu.backend.repository.PasswordResetTokenRepository;
+import com.vectoredu.backend.repository.TaskRepository;
+import com.vectoredu.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Каждая пачка удаляется в своей короткой транзакции под advisory-блокировкой:
+// пока один экземпляр чистит таблицы, остальные пропускают запуск
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ExpiredAccountService {
+    public static final int LOCK_BUSY = -1;
+
+    // Ключ advisory-блокировки очистки, общий для всех экземпляров приложения
+    public static final long REAPER_LOCK_KEY = 0x7265617065720001L;
+
+    private final UserRepository userRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final TaskRepository taskRepository;
+    private final UserCacheService userCacheService;
+
+    public int deleteExpiredResetTokens(LocalDateTime now, int limit) {
+        if (!userRepository.tryAdvisoryXactLock(REAPER_LOCK_KEY)) {
+            return LOCK_BUSY;
+        }
+        return passwordResetTokenRepository.deleteExpired(now, limit);
+    }
+
+    public int deleteExpiredUnverifiedUsers(LocalDateTime expiredBefore, int limit) {
+        if (!userRepository.tryAdvisoryXactLock(REAPER_LOCK_KEY)) {
+            return LOCK_BUSY;
+        }
+        List<String> emails = userRepository.deleteExpiredUnverified(expiredBefore, limit);
+        userCacheService.evictByEmails(emails);
+        return emails.size();
+    }
+
+    public int deleteTaskDeletionsBefore(LocalDateTime before, int limit) {
+        if (!userRepository.tryAdvisoryXactLock(REAPER_LOCK_KEY)) {
+            return LOCK_BUSY;
+        }
+        return taskRepository.deleteDeletionsBefore(before, limit);
+    }
+}
@@ -1,6 +1,8 @@
 package com.vectoredu.backend.service;
 
+import com.vectoredu.backend.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -10,7 +12,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
 import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
@@ -19,6 +21,13 @@ import java.util.function.Function;
 
 @Service
 public class JwtService {
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    public static final String CLAIM_TOKEN_TYPE = "type";
+    public static final String TOKEN_TYPE_ACCESS = "access";
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+
     @Value("${security.jwt.secret-key}")
     private String secretKey;
 
@@ -31,10 +40,18 @@ public class JwtService {
     private Instant jwtExpiration;
     private Instant refreshTokenExpiration;
 
+    // Ключ и парсер неизменяемы и потокобезопасны: создаются один раз, а не на каждый токен
+    private SecretKey signInKey;
+    private JwtParser jwtParser;
+
     @PostConstruct
     public void init() {
         this.jwtExpiration = Instant.now().plusMillis(jwtExpirationMillis);
         this.refreshTokenExpiration = Instant.now().plusMillis(refreshTokenExpirationMillis);
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signInKey)
+                .build();
     }
 
     public String extractUsername(String token) {
@@ -47,7 +64,8 @@ public class JwtService {
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails.getUsername(), jwtExpirationMillis);
+        Map<String, Object> claims = userClaims(userDetails, TOKEN_TYPE_ACCESS);
+        return generateToken(claims, userDetails.getUsername(), jwtExpirationMillis);
     }
 
     public String generateToken(Map<String, Object> extraClaims, String email, long expirationMillis) {
@@ -57,7 +75,20 @@ public class JwtService {
 
     public String generateRefreshToken(UserDetails userDetails) {
         Instant expiration = Instant.now().plusMillis(refreshTokenExpirationMillis);
-        return buildToken(new HashMap<>(), userDetails.getUsername(), expiration);
+        return buildToken(userClaims(userDetails, TOKEN_TYPE_REFRESH), userDetails.getUsername(), expiration);
+    }
+
+    // Идентификатор, роль и версия токенов: по ним фильтр аутентифицирует запрос без обращения к БД.
+    // Тип не дает предъявить долгоживущий refresh-токен вместо токена доступа
+    private Map<String, Object> userClaims(UserDetails userDetails, String tokenType) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_TOKEN_TYPE, tokenType);
+        if (userDetails instanceof User user) {
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_ROLE, user.getRole().name());
+            claims.put(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        }
+        return claims;
     }
 
     private String buildToken(
@@ -71,7 +102,7 @@ public class JwtService {
                 .setSubject(email)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(Date.from(expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -84,39 +115,54 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
+    }
+
+    // Подпись и срок действия проверяет парсер; здесь сверяются уже разобранные claims без повторного разбора
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return isAccessToken(claims) && claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims)
+                && hasCurrentTokenVersion(claims, userDetails);
     }
 
     public boolean isRefreshTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isRefreshTokenExpired(token);
+        return isRefreshTokenValid(extractAllClaims(token), userDetails);
     }
 
-    public boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isRefreshTokenValid(Claims claims, UserDetails userDetails) {
+        return hasTokenType(claims, TOKEN_TYPE_REFRESH) && claims.getSubject().equals(userDetails.getUsername())
+                && !isExpired(claims) && hasCurrentTokenVersion(claims, userDetails);
     }
 
-    public boolean isRefreshTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isAccessToken(Claims claims) {
+        return hasTokenType(claims, TOKEN_TYPE_ACCESS);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    // Токены, выданные до появления claim типа, принимаются как раньше и доживают свой срок
+    private boolean hasTokenType(Claims claims, String tokenType) {
+        String type = claims.get(CLAIM_TOKEN_TYPE, String.class);
+        return type == null || type.equals(tokenType);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Токены, выданные до появления claim версии, сверяются только по email и сроку действия
+    private boolean hasCurrentTokenVersion(Claims claims, UserDetails userDetails) {
+        Number version = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        return version == null || !(userDetails instanceof User user) || version.intValue() == user.getTokenVersion();
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public boolean isTokenExpired(String token) {
+        return isExpired(extractAllClaims(token));
+    }
+
+    public boolean isRefreshTokenExpired(String token) {
+        return isExpired(extractAllClaims(token));
     }
-}
 
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
+    }
+
+    // Единственная точка разбора: проверка подписи, срока действия и декодирование claims за один проход
+    public Claims extractAllClaims(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+}
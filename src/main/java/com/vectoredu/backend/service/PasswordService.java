@@ -7,12 +7,13 @@ import com.vectoredu.backend.repository.UserRepository;
 import com.vectoredu.backend.util.exception.NotFoundException;
 import com.vectoredu.backend.util.exception.ValidationException;
 import com.vectoredu.backend.util.validators.PasswordValidator;
-import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -24,9 +25,11 @@ import java.util.UUID;
 public class PasswordService {
     private final PasswordEncoder passwordEncoder;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
     private final UserRepository userRepository;
     private final PasswordValidator passwordValidator;
+    private final UserCacheService userCacheService;
+    private final TransactionTemplate transactionTemplate;
 
     public void requestPasswordReset(String email) {
         User user = userRepository.findByEmail(email)
@@ -48,14 +51,24 @@ public class PasswordService {
         passwordResetTokenRepository.save(passwordResetToken);
     }
 
+    // Новый пароль хэшируется вне транзакции, чтобы ожидание в очереди BCrypt не держало соединение из пула.
+    // Токен удаляется в одной транзакции со сменой пароля: если его успели использовать, пока считался хэш,
+    // удалять нечего и смена отклоняется
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void resetPassword(String token, String newPassword) {
         PasswordResetToken passwordResetToken = validatePasswordResetToken(token);
         User user = passwordResetToken.getUser();
 
         validateNewPassword(newPassword);
 
-        updatePassword(user, newPassword);
-        passwordResetTokenRepository.deleteByToken(token);
+        String encodedPassword = passwordEncoder.encode(newPassword);
+        transactionTemplate.execute(status -> {
+            if (passwordResetTokenRepository.deleteByToken(token) == 0) {
+                throw new ValidationException("Неверный или истекший токен для восстановления пароля");
+            }
+            updatePassword(user, encodedPassword);
+            return null;
+        });
     }
 
     public void validateNewPassword(String newPassword) {
@@ -64,10 +77,12 @@ public class PasswordService {
         }
     }
 
-    private void updatePassword(User user, String newPassword) {
-        String encodedPassword = passwordEncoder.encode(newPassword);
+    private void updatePassword(User user, String encodedPassword) {
         user.setPassword(encodedPassword);
+        // Смена пароля отзывает все ранее выданные токены
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        userCacheService.evict(user);
     }
 
     private PasswordResetToken validatePasswordResetToken(String token) {
@@ -97,12 +112,9 @@ public class PasswordService {
         sendEmail(user, subject, htmlMessage);
     }
 
+    // Письмо попадает в outbox в текущей транзакции, отправляет его EmailOutboxDispatcher
     private void sendEmail(User user, String subject, String htmlMessage) {
-        try {
-            emailService.sendVerificationEmail(user.getEmail(), subject, htmlMessage);
-        } catch (MessagingException e) {
-            log.error("Ошибка при отправке email", e);
-        }
+        emailOutboxService.enqueue(user.getEmail(), subject, htmlMessage);
     }
 
     private String generatePasswordResetEmailContent(String resetLink) {
@@ -0,0 +1,32 @@
+package com.vectoredu.backend.service;
+
+import com.vectoredu.backend.config.CacheConfiguration;
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// Приблизительные итоги для срезов: COUNT выполняется не чаще одного раза за время жизни записи кэша
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TaskCountService {
+    private final TaskRepository taskRepository;
+
+    @Cacheable(cacheNames = CacheConfiguration.TASK_COUNTS, key = "'all'")
+    public long countAll() {
+        return taskRepository.count();
+    }
+
+    @Cacheable(cacheNames = CacheConfiguration.TASK_COUNTS, key = "'author:' + #author.id")
+    public long countByAuthor(User author) {
+        return taskRepository.countByAuthor(author);
+    }
+
+    @Cacheable(cacheNames = CacheConfiguration.TASK_COUNTS, key = "'assignee:' + #assignee.id")
+    public long countByAssignee(User assignee) {
+        return taskRepository.countByAssignee(assignee);
+    }
+}
@@ -0,0 +1,254 @@
+package com.vectoredu.backend.service;
+
+import com.vectoredu.backend.dto.projection.CommentView;
+import com.vectoredu.backend.dto.projection.TaskSearchView;
+import com.vectoredu.backend.dto.projection.TaskStatsView;
+import com.vectoredu.backend.dto.projection.TaskView;
+import com.vectoredu.backend.dto.response.AssigneeTaskStats;
+import com.vectoredu.backend.dto.response.CommentResponse;
+import com.vectoredu.backend.dto.response.CursorPage;
+import com.vectoredu.backend.dto.response.SliceResponse;
+import com.vectoredu.backend.dto.response.TaskResponse;
+import com.vectoredu.backend.dto.response.TaskSearchResult;
+import com.vectoredu.backend.dto.response.TaskStatsResponse;
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Status;
+import com.vectoredu.backend.repository.CommentRepository;
+import com.vectoredu.backend.repository.TaskFilterCriteria;
+import com.vectoredu.backend.repository.TaskRepository;
+import com.vectoredu.backend.util.TaskCursor;
+import com.vectoredu.backend.util.TaskSearchCursor;
+import com.vectoredu.backend.util.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+// Чтение списков задач через проекции: без гидратации сущностей и dirty checking при коммите
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TaskQueryService {
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final int MAX_QUERY_LENGTH = 256;
+
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final TaskCountService taskCountService;
+
+    public Page<TaskResponse> findAll(Pageable pageable) {
+        return withComments(taskRepository.findAllViews(pageable));
+    }
+
+    public Page<TaskResponse> findByAuthor(User author, Pageable pageable) {
+        return withComments(taskRepository.findViewsByAuthor(author, pageable));
+    }
+
+    public Page<TaskResponse> findByAssignee(User assignee, Pageable pageable) {
+        return withComments(taskRepository.findViewsByAssignee(assignee, pageable));
+    }
+
+    public Page<TaskResponse> findFiltered(TaskFilterCriteria criteria, Pageable pageable) {
+        if (criteria.createdFrom() != null && criteria.createdTo() != null
+                && !criteria.createdFrom().isBefore(criteria.createdTo())) {
+            throw new ValidationException("Начало периода создания должно быть раньше его конца");
+        }
+        return withComments(taskRepository.findViews(criteria, pageable));
+    }
+
+    public SliceResponse<TaskResponse> sliceAll(Pageable pageable, boolean withTotal) {
+        return toSliceResponse(taskRepository.findAllViewSlice(pageable),
+                withTotal ? taskCountService::countAll : null);
+    }
+
+    public SliceResponse<TaskResponse> sliceByAuthor(User author, Pageable pageable, boolean withTotal) {
+        return toSliceResponse(taskRepository.findViewSliceByAuthor(author, pageable),
+                withTotal ? () -> taskCountService.countByAuthor(author) : null);
+    }
+
+    public SliceResponse<TaskResponse> sliceByAssignee(User assignee, Pageable pageable, boolean withTotal) {
+        return toSliceResponse(taskRepository.findViewSliceByAssignee(assignee, pageable),
+                withTotal ? () -> taskCountService.countByAssignee(assignee) : null);
+    }
+
+    public CursorPage<TaskResponse> scrollAll(String cursor, int size) {
+        return scroll(cursor, size, taskRepository::findFirstViews,
+                (position, limit) -> taskRepository.findViewsBefore(position.createdAt(), position.id(), limit));
+    }
+
+    public CursorPage<TaskResponse> scrollByAssignee(User assignee, String cursor, int size) {
+        return scroll(cursor, size, limit -> taskRepository.findFirstViewsByAssignee(assignee, limit),
+                (position, limit) -> taskRepository.findViewsByAssigneeBefore(
+                        assignee, position.createdAt(), position.id(), limit));
+    }
+
+    // Поиск с keyset-пагинацией по (rank, id); комментарии в результаты не загружаются
+    public CursorPage<TaskSearchResult> search(String query, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Поисковый запрос не может быть пустым");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new ValidationException("Поисковый запрос слишком длинный (макс. " + MAX_QUERY_LENGTH + " символов)");
+        }
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new ValidationException("Размер страницы должен быть от 1 до " + MAX_SCROLL_SIZE);
+        }
+        TaskSearchCursor after = cursor == null || cursor.isBlank() ? null : TaskSearchCursor.decode(cursor);
+        List<TaskSearchView> views = taskRepository.search(query, after, size + 1);
+
+        boolean hasNext = views.size() > size;
+        List<TaskSearchView> pageViews = hasNext ? views.subList(0, size) : views;
+        TaskSearchView last = hasNext ? pageViews.get(size - 1) : null;
+
+        return CursorPage.<TaskSearchResult>builder()
+                .content(pageViews.stream().map(this::toSearchResult).toList())
+                .nextCursor(last == null ? null : new TaskSearchCursor(last.rank(), last.id()).encode())
+                .hasNext(hasNext)
+                .build();
+    }
+
+    // Одно чтение task_stats: не больше (исполнители × статусы × приоритеты) строк при любом числе задач
+    public TaskStatsResponse stats(Long assigneeId) {
+        Map<Long, List<TaskStatsView>> byAssignee = taskRepository.findStats(assigneeId).stream()
+                .collect(Collectors.groupingBy(TaskStatsView::assigneeId, LinkedHashMap::new, Collectors.toList()));
+
+        List<AssigneeTaskStats> assignees = new ArrayList<>();
+        Map<Status, Long> byStatus = zeroCounts(Status.class);
+        Map<Priority, Long> byPriority = zeroCounts(Priority.class);
+        long total = 0;
+        for (List<TaskStatsView> rows : byAssignee.values()) {
+            TaskStatsView first = rows.get(0);
+            Map<Status, Long> assigneeByStatus = zeroCounts(Status.class);
+            Map<Priority, Long> assigneeByPriority = zeroCounts(Priority.class);
+            long assigneeTotal = 0;
+            for (TaskStatsView row : rows) {
+                assigneeByStatus.merge(row.status(), row.taskCount(), Long::sum);
+                assigneeByPriority.merge(row.priority(), row.taskCount(), Long::sum);
+                byStatus.merge(row.status(), row.taskCount(), Long::sum);
+                byPriority.merge(row.priority(), row.taskCount(), Long::sum);
+                assigneeTotal += row.taskCount();
+            }
+            total += assigneeTotal;
+            assignees.add(AssigneeTaskStats.builder()
+                    .assigneeEmail(first.assigneeEmail())
+                    .assigneeFirstName(first.assigneeFirstName())
+                    .assigneeLastName(first.assigneeLastName())
+                    .total(assigneeTotal)
+                    .byStatus(assigneeByStatus)
+                    .byPriority(assigneeByPriority)
+                    .build());
+        }
+        return TaskStatsResponse.builder()
+                .total(total)
+                .byStatus(byStatus)
+                .byPriority(byPriority)
+                .assignees(assignees)
+                .build();
+    }
+
+    // Запрашивается на одну строку больше размера страницы, чтобы узнать о наличии следующей без COUNT
+    private CursorPage<TaskResponse> scroll(String cursor, int size,
+                                            Function<Pageable, List<TaskView>> firstPage,
+                                            BiFunction<TaskCursor, Pageable, List<TaskView>> nextPage) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new ValidationException("Размер страницы должен быть от 1 до " + MAX_SCROLL_SIZE);
+        }
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<TaskView> views = cursor == null || cursor.isBlank()
+                ? firstPage.apply(limit)
+                : nextPage.apply(TaskCursor.decode(cursor), limit);
+
+        boolean hasNext = views.size() > size;
+        List<TaskView> pageViews = hasNext ? views.subList(0, size) : views;
+        TaskView last = hasNext ? pageViews.get(size - 1) : null;
+
+        Map<Long, List<CommentResponse>> comments = loadComments(pageViews);
+        return CursorPage.<TaskResponse>builder()
+                .content(pageViews.stream().map(view -> toTaskResponse(view, comments)).toList())
+                .nextCursor(last == null ? null : new TaskCursor(last.createdAt(), last.id()).encode())
+                .hasNext(hasNext)
+                .build();
+    }
+
+    private SliceResponse<TaskResponse> toSliceResponse(Slice<TaskView> views, LongSupplier approximateTotal) {
+        Map<Long, List<CommentResponse>> comments = loadComments(views.getContent());
+        return SliceResponse.<TaskResponse>builder()
+                .content(views.getContent().stream().map(view -> toTaskResponse(view, comments)).toList())
+                .number(views.getNumber())
+                .size(views.getSize())
+                .hasNext(views.hasNext())
+                .approximateTotal(approximateTotal == null ? null : approximateTotal.getAsLong())
+                .build();
+    }
+
+    private Page<TaskResponse> withComments(Page<TaskView> views) {
+        Map<Long, List<CommentResponse>> comments = loadComments(views.getContent());
+        return views.map(view -> toTaskResponse(view, comments));
+    }
+
+    // Комментарии всей страницы загружаются одним запросом
+    private Map<Long, List<CommentResponse>> loadComments(List<TaskView> views) {
+        if (views.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> taskIds = views.stream().map(TaskView::id).toList();
+        return commentRepository.findViewsByTaskIdIn(taskIds).stream()
+                .collect(Collectors.groupingBy(CommentView::taskId,
+                        Collectors.mapping(this::toCommentResponse, Collectors.toList())));
+    }
+
+    private TaskResponse toTaskResponse(TaskView view, Map<Long, List<CommentResponse>> comments) {
+        return TaskResponse.builder()
+                .id(view.id())
+                .title(view.title())
+                .description(view.description())
+                .assigneeFirstName(view.assigneeFirstName())
+                .assigneeLastName(view.assigneeLastName())
+                .priority(view.priority())
+                .status(view.status())
+                .comments(comments.getOrDefault(view.id(), List.of()))
+                .build();
+    }
+
+    private TaskSearchResult toSearchResult(TaskSearchView view) {
+        return TaskSearchResult.builder()
+                .id(view.id())
+                .title(view.title())
+                .description(view.description())
+                .assigneeFirstName(view.assigneeFirstName())
+                .assigneeLastName(view.assigneeLastName())
+                .priority(view.priority())
+                .status(view.status())
+                .rank(view.rank())
+                .snippet(view.snippet())
+                .build();
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> zeroCounts(Class<E> type) {
+        Map<E, Long> counts = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            counts.put(value, 0L);
+        }
+        return counts;
+    }
+
+    private CommentResponse toCommentResponse(CommentView view) {
+        return CommentResponse.builder()
+                .text(view.text())
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.vectoredu.backend.service;
+
+import com.vectoredu.backend.dto.projection.TaskTextView;
+import com.vectoredu.backend.dto.response.TaskSuggestion;
+import com.vectoredu.backend.model.Task;
+import com.vectoredu.backend.repository.TaskRepository;
+import com.vectoredu.backend.util.TaskSuggestIndex;
+import com.vectoredu.backend.util.exception.ValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+// Подсказки при вводе из индекса в памяти, без обращения к БД. Индекс заполняется при старте, до того как
+// приложение начинает принимать запросы, и обновляется после коммита транзакций, меняющих задачи.
+// Коммиты других экземпляров приложения сюда не доходят: их подхватывает периодическое обновление, которое
+// перечитывает задачи с недавним updated_at и вычищает недавно удаленные по журналу task_deletions. Между обновлениями подсказки на экземпляре
+// могут отставать от чужих изменений на refresh-interval
+@Slf4j
+@Service
+public class TaskSuggestService implements SmartInitializingSingleton {
+    private static final int MAX_SUGGEST_LIMIT = 50;
+
+    private final TaskRepository taskRepository;
+    private final TaskSuggestIndex index;
+
+    @Value("${task-suggest.warm-up.enabled}")
+    private boolean warmUpEnabled;
+
+    @Value("${task-suggest.warm-up.batch-size}")
+    private int warmUpBatchSize;
+
+    @Value("${task-suggest.refresh-overlap}")
+    private Duration refreshOverlap;
+
+    // Начало последней загрузки или обновления индекса
+    private volatile LocalDateTime refreshedAt;
+
+    public TaskSuggestService(TaskRepository taskRepository, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.index = new TaskSuggestIndex(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (warmUpEnabled) {
+            warmUp();
+        }
+    }
+
+    public void warmUp() {
+        long start = System.nanoTime();
+        refreshedAt = LocalDateTime.now();
+        Pageable limit = PageRequest.ofSize(warmUpBatchSize);
+        load(afterId -> taskRepository.findTextViewsAfter(afterId, limit));
+
+        log.info("Индекс подсказок загружен за {} мс: {} задач, {} термов, около {} КБ",
+                (System.nanoTime() - start) / 1_000_000, index.documentCount(), index.termCount(),
+                index.estimatedMemoryBytes() / 1024);
+    }
+
+    // Задачи, измененные с прошлого обновления, перечитываются из базы. Окно сдвигается назад на refresh-overlap:
+    // транзакция коммитится позже, чем выставила updated_at, и часы экземпляров расходятся. Удаления не оставляют
+    // updated_at: удаленные за то же окно задачи берутся из журнала, который ведет триггер на tasks
+    @Scheduled(fixedDelayString = "${task-suggest.refresh-interval}",
+            initialDelayString = "${task-suggest.refresh-interval}")
+    public void refresh() {
+        if (refreshedAt == null) {
+            return;
+        }
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime since = refreshedAt.minus(refreshOverlap);
+        Pageable limit = PageRequest.ofSize(warmUpBatchSize);
+        int updated = load(afterId -> taskRepository.findTextViewsUpdatedSince(since, afterId, limit));
+        List<Long> deleted = taskRepository.findIdsDeletedSince(since);
+        index.removeAll(deleted);
+        refreshedAt = start;
+        log.debug("Индекс подсказок обновлен: {} задач перечитано, {} удалено", updated, deleted.size());
+    }
+
+    public List<TaskSuggestion> suggest(String query, int limit) {
+        if (limit < 1 || limit > MAX_SUGGEST_LIMIT) {
+            throw new ValidationException("Количество подсказок должно быть от 1 до " + MAX_SUGGEST_LIMIT);
+        }
+        return index.suggest(query, limit).stream()
+                .map(hit -> TaskSuggestion.builder().id(hit.id()).title(hit.title()).build())
+                .toList();
+    }
+
+    // Изменения попадают в индекс только после коммита: откаченная транзакция его не затрагивает.
+    // Поля сущностей читаются уже после flush, так что версия — записанный в базу updated_at. Коммиты одной задачи
+    // из параллельных запросов могут дойти сюда в обратном порядке, поэтому более старая версия не заменяет новую
+    public void indexAfterCommit(Collection<Task> tasks) {
+        List<Task> changed = List.copyOf(tasks);
+        afterCommit(() -> changed.forEach(task ->
+                index.putIfNewer(task.getId(), version(task.getUpdatedAt()), task.getTitle(), task.getDescription())));
+    }
+
+    public void removeAfterCommit(Collection<Long> taskIds) {
+        List<Long> ids = List.copyOf(taskIds);
+        afterCommit(() -> index.removeAll(ids));
+    }
+
+    // Пачки по первичному ключу без OFFSET. Прочитанное из базы — текущее состояние, оно заменяет документ
+    // независимо от версии; если параллельный коммит успел записать более новую, ее вернет следующее обновление
+    private int load(Function<Long, List<TaskTextView>> nextBatch) {
+        int loaded = 0;
+        Long afterId = 0L;
+        List<TaskTextView> batch;
+        do {
+            batch = nextBatch.apply(afterId);
+            batch.forEach(task -> index.put(task.id(), version(task.updatedAt()), task.title(), task.description()));
+            loaded += batch.size();
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == warmUpBatchSize);
+        return loaded;
+    }
+
+    // Микросекунды, как в TIMESTAMP(6): версия из сущности и перечитанная из базы совпадают
+    private static long version(LocalDateTime updatedAt) {
+        return updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.vectoredu.backend.service;
+
+import com.vectoredu.backend.config.CacheConfiguration;
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Optional;
+
+// Кэш пользователей по email: фильтр аутентификации и сервисы не обращаются к БД в установившемся режиме.
+// Закэшированные сущности отсоединены от контекста персистентности и используются только для чтения.
+@Service
+@RequiredArgsConstructor
+public class UserCacheService {
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    @Cacheable(cacheNames = CacheConfiguration.USERS, key = "#email", unless = "#result == null")
+    public Optional<User> findByEmail(String email) {
+        return userRepository.findByEmail(email);
+    }
+
+    // Текущая версия токенов пользователя для проверки отзыва JWT
+    @Cacheable(cacheNames = CacheConfiguration.TOKEN_VERSIONS, key = "#userId", unless = "#result == null")
+    public Optional<Integer> findTokenVersion(Long userId) {
+        return userRepository.findTokenVersionById(userId);
+    }
+
+    // Сбрасывает записи сразу и повторно после коммита, чтобы параллельный запрос
+    // не успел закэшировать состояние, которое еще не зафиксировано
+    public void evict(User user) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(user);
+                }
+            });
+        }
+        evictNow(user);
+    }
+
+    // Пользователи, удаленные без загрузки сущностей (ExpiredAccountReaper)
+    public void evictByEmails(Collection<String> emails) {
+        emails.forEach(email -> evictKey(CacheConfiguration.USERS, email));
+    }
+
+    private void evictNow(User user) {
+        evictKey(CacheConfiguration.USERS, user.getEmail());
+        if (user.getId() != null) {
+            evictKey(CacheConfiguration.TOKEN_VERSIONS, user.getId());
+        }
+    }
+
+    private void evictKey(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
@@ -1,20 +1,24 @@
 package com.vectoredu.backend.service;
 
+import com.vectoredu.backend.dto.request.taskRequestDto.TaskFilter;
 import com.vectoredu.backend.dto.response.CommentResponse;
+import com.vectoredu.backend.dto.response.CursorPage;
+import com.vectoredu.backend.dto.response.SliceResponse;
 import com.vectoredu.backend.dto.response.TaskResponse;
 import com.vectoredu.backend.model.Comment;
 import com.vectoredu.backend.model.Task;
 import com.vectoredu.backend.model.User;
 import com.vectoredu.backend.model.enums.Status;
 import com.vectoredu.backend.repository.CommentRepository;
+import com.vectoredu.backend.repository.TaskFilterCriteria;
 import com.vectoredu.backend.repository.TaskRepository;
-import com.vectoredu.backend.repository.UserRepository;
 import com.vectoredu.backend.util.exception.NotFoundException;
 import com.vectoredu.backend.util.exception.UnauthorizedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,14 +30,15 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserTaskService {
     private final TaskRepository taskRepository;
     private final CommentRepository commentRepository;
-    private final UserRepository userRepository;
+    private final TaskQueryService taskQueryService;
+    private final UserCacheService userCacheService;
 
     // Метод для изменения статуса задачи
     public TaskResponse updateTaskStatus(Long taskId, Status newStatus) {
         Task task = getTask(taskId);
         User authenticatedUser = getAuthenticatedUser();
 
-        if (!task.getAssignee().equals(authenticatedUser)) {
+        if (!isAssignee(task, authenticatedUser)) {
             throw new UnauthorizedException("Вы не можете изменять задачу, если не являетесь ее исполнителем.");
         }
 
@@ -43,10 +48,33 @@ public class UserTaskService {
         return mapToTaskResponse(task);
     }
 
-    public Page<TaskResponse> getAllTasksForUser(Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<TaskResponse> getAllTasksForUser(TaskFilter filter, Pageable pageable) {
         User authenticatedUser = getAuthenticatedUser();
-        Page<Task> tasks = taskRepository.findByAssignee(authenticatedUser, pageable);
-        return tasks.map(this::mapToTaskResponse);
+        // Исполнитель в фильтре всегда текущий пользователь, assigneeEmail из запроса не учитывается
+        Long authorId = filter.getAuthorEmail() == null || filter.getAuthorEmail().isBlank()
+                ? null
+                : userCacheService.findByEmail(filter.getAuthorEmail())
+                        .orElseThrow(() -> new NotFoundException("Автор не найден"))
+                        .getId();
+        TaskFilterCriteria criteria = new TaskFilterCriteria(filter.getStatuses(), filter.getPriorities(), authorId,
+                null, filter.getCreatedFrom(), filter.getCreatedTo());
+        if (criteria.isEmpty()) {
+            return taskQueryService.findByAssignee(authenticatedUser, pageable);
+        }
+        return taskQueryService.findFiltered(criteria.withAssigneeId(authenticatedUser.getId()), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public SliceResponse<TaskResponse> getTasksSliceForUser(Pageable pageable, boolean withTotal) {
+        User authenticatedUser = getAuthenticatedUser();
+        return taskQueryService.sliceByAssignee(authenticatedUser, pageable, withTotal);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> getTasksForUserByCursor(String cursor, int size) {
+        User authenticatedUser = getAuthenticatedUser();
+        return taskQueryService.scrollByAssignee(authenticatedUser, cursor, size);
     }
 
     // Метод для добавления комментария к задаче
@@ -54,7 +82,7 @@ public class UserTaskService {
         Task task = getTask(taskId);
         User authenticatedUser = getAuthenticatedUser();
 
-        if (!task.getAssignee().equals(authenticatedUser)) {
+        if (!isAssignee(task, authenticatedUser)) {
             throw new UnauthorizedException("Вы не можете добавлять комментарии к задаче, если не являетесь ее исполнителем.");
         }
 
@@ -73,13 +101,21 @@ public class UserTaskService {
                 .orElseThrow(() -> new NotFoundException("Задача не найдена"));
     }
 
-    // Получение текущего аутентифицированного пользователя
+    // Получение текущего аутентифицированного пользователя: он уже загружен фильтром аутентификации
     private User getAuthenticatedUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
+        return userCacheService.findByEmail(authentication.getName())
                 .orElseThrow(() -> new NotFoundException("Пользователь не найден"));
     }
 
+    // Пользователь из кэша отсоединен от контекста персистентности, поэтому сравнение идет по идентификатору
+    private boolean isAssignee(Task task, User user) {
+        return task.getAssignee().getId().equals(user.getId());
+    }
+
     // Преобразование задачи в ответ
     private TaskResponse mapToTaskResponse(Task task) {
         return TaskResponse.builder()
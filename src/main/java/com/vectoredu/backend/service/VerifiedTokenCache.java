@@ -0,0 +1,59 @@
+package com.vectoredu.backend.service;
+
+import com.vectoredu.backend.config.CacheConfiguration;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+
+// Кэш уже проверенных токенов перед JwtService: повторный запрос с тем же токеном не пересчитывает
+// HMAC и не декодирует claims. Ключ — SHA-256 от токена, сам токен в памяти не хранится
+@Service
+public class VerifiedTokenCache {
+    private final JwtService jwtService;
+    private final Cache cache;
+    private final boolean enabled;
+
+    public VerifiedTokenCache(
+            JwtService jwtService,
+            CacheManager cacheManager,
+            @Value("${security.jwt.verified-cache.enabled}") boolean enabled
+    ) {
+        this.jwtService = jwtService;
+        this.cache = cacheManager.getCache(CacheConfiguration.VERIFIED_TOKENS);
+        this.enabled = enabled;
+    }
+
+    public Claims verify(String token) {
+        if (!enabled) {
+            return jwtService.extractAllClaims(token);
+        }
+
+        String digest = digest(token);
+        Claims claims = cache.get(digest, Claims.class);
+        // Запись удаляется по сроку действия токена; проверка страхует от гонки на границе истечения
+        if (claims != null && claims.getExpiration().after(new Date())) {
+            return claims;
+        }
+
+        claims = jwtService.extractAllClaims(token);
+        cache.put(digest, claims);
+        return claims;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+}
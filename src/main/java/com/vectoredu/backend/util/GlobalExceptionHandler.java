@@ -3,6 +3,7 @@ package com.vectoredu.backend.util;
 import com.vectoredu.backend.util.exception.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -52,6 +53,16 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
     }
 
+    // Перегрузка не ошибка сервера: клиенту сообщается, через сколько секунд повторить запрос
+    @ExceptionHandler(OverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleOverloadedException(OverloadedException ex) {
+        logger.warn(ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(GeneralException.class)
     public ResponseEntity<ErrorResponse> handleGeneralException(GeneralException ex) {
         logger.error("Internal server error", ex);
@@ -0,0 +1,63 @@
+package com.vectoredu.backend.util;
+
+import java.util.Arrays;
+
+// Отсортированный по возрастанию список идентификаторов задач на примитивном массиве: без упаковки в Long.
+// Идентификаторы выдает последовательность, поэтому новая задача почти всегда добавляется в конец.
+// Не потокобезопасен: синхронизацию обеспечивает TaskSuggestIndex
+public final class LongPostingList {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] values = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public boolean add(long value) {
+        if (size == 0 || values[size - 1] < value) {
+            ensureCapacity();
+            values[size++] = value;
+            return true;
+        }
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return false;
+        }
+        int insertion = -index - 1;
+        ensureCapacity();
+        System.arraycopy(values, insertion, values, insertion + 1, size - insertion);
+        values[insertion] = value;
+        size++;
+        return true;
+    }
+
+    public boolean remove(long value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        // Список, из которого удалили большую часть идентификаторов, не держит лишнюю память
+        if (values.length > INITIAL_CAPACITY && size < values.length / 4) {
+            values = Arrays.copyOf(values, Math.max(size * 2, INITIAL_CAPACITY));
+        }
+        return true;
+    }
+
+    public long get(int index) {
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    private void ensureCapacity() {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length + (values.length >> 1));
+        }
+    }
+}
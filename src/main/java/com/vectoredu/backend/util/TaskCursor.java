@@ -0,0 +1,30 @@
+package com.vectoredu.backend.util;
+
+import com.vectoredu.backend.util.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Непрозрачный курсор keyset-пагинации: позиция последней выданной задачи в порядке (createdAt, id)
+public record TaskCursor(LocalDateTime createdAt, Long id) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new TaskCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new ValidationException("Некорректный курсор пагинации");
+        }
+    }
+}
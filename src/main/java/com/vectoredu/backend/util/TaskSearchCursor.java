@@ -0,0 +1,30 @@
+package com.vectoredu.backend.util;
+
+import com.vectoredu.backend.util.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Непрозрачный курсор поиска: позиция последнего результата в порядке (rank DESC, id DESC).
+// Релевантность хранится как float без потерь, чтобы сравнение в SQL совпадало с выданным значением
+public record TaskSearchCursor(float rank, Long id) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = Float.floatToIntBits(rank) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new TaskSearchCursor(
+                    Float.intBitsToFloat(Integer.parseInt(raw.substring(0, separator))),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new ValidationException("Некорректный курсор пагинации");
+        }
+    }
+}
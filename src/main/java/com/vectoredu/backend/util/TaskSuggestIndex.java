@@ -0,0 +1,355 @@
+package com.vectoredu.backend.util;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Инвертированный индекс названий и описаний задач в памяти для подсказок при вводе.
+// Словарь термов отсортирован, поэтому все термы с общим префиксом — один непрерывный диапазон ключей.
+// Чтения идут параллельно под read-lock, изменения (создание, правка, удаление задачи) — под write-lock
+public class TaskSuggestIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_QUERY_TOKENS = 8;
+
+    // Грубая оценка заголовков объектов и ссылок JVM для метрики занимаемой памяти:
+    // терм — String, его массив, узел TreeMap и LongPostingList; документ — узел HashMap, Long, Document и массивы
+    private static final long TERM_OVERHEAD_BYTES = 120;
+    private static final long DOCUMENT_OVERHEAD_BYTES = 168;
+    private static final long REFERENCE_BYTES = 4;
+
+    public record Hit(long id, String title) {
+    }
+
+    // Термы документа отсортированы и ссылаются на ключи словаря, а не на свои копии строк.
+    // Версия — момент изменения задачи (updated_at), по ней отбрасываются запоздавшие обновления
+    private record Document(long version, String title, String[] titleTerms, String[] terms) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, LongPostingList> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    private long postingCount;
+    private long postingCapacity;
+    private long termBytes;
+    private long documentBytes;
+
+    private final Timer lookupTimer;
+
+    public TaskSuggestIndex(MeterRegistry meterRegistry) {
+        this.lookupTimer = Timer.builder("task.suggest.lookup")
+                .description("Поиск подсказок по префиксам в индексе задач")
+                .register(meterRegistry);
+        Gauge.builder("task.suggest.index.documents", this, TaskSuggestIndex::documentCount)
+                .register(meterRegistry);
+        Gauge.builder("task.suggest.index.terms", this, TaskSuggestIndex::termCount)
+                .register(meterRegistry);
+        Gauge.builder("task.suggest.index.postings", this, TaskSuggestIndex::postingCount)
+                .register(meterRegistry);
+        Gauge.builder("task.suggest.index.memory", this, TaskSuggestIndex::estimatedMemoryBytes)
+                .description("Оценка памяти, занятой индексом подсказок")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    // Добавляет задачу или заменяет ее прежнюю версию
+    public void put(long id, long version, String title, String description) {
+        put(id, version, title, description, false);
+    }
+
+    // Как put, но не заменяет документ с более новой версией: обновления после коммита могут применяться
+    // не в том порядке, в котором коммитились транзакции
+    public boolean putIfNewer(long id, long version, String title, String description) {
+        return put(id, version, title, description, true);
+    }
+
+    private boolean put(long id, long version, String title, String description, boolean onlyIfNewer) {
+        String[] titleTerms = terms(title);
+        Arrays.sort(titleTerms);
+        TreeSet<String> allTerms = new TreeSet<>(Arrays.asList(titleTerms));
+        allTerms.addAll(Arrays.asList(terms(description)));
+
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.get(id);
+            if (previous != null) {
+                if (onlyIfNewer && previous.version() > version) {
+                    return false;
+                }
+                documents.remove(id);
+                removePostings(id, previous);
+            }
+            String[] terms = allTerms.stream().map(term -> addPosting(term, id)).toArray(String[]::new);
+            for (int i = 0; i < titleTerms.length; i++) {
+                titleTerms[i] = postings.ceilingKey(titleTerms[i]);
+            }
+            Document document = new Document(version, title, titleTerms, terms);
+            documents.put(id, document);
+            documentBytes += documentBytes(document);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.remove(id);
+            if (previous != null) {
+                removePostings(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeAll(Collection<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                Document previous = documents.remove(id);
+                if (previous != null) {
+                    removePostings(id, previous);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Задачи, в названии или описании которых есть слова, начинающиеся с каждого слова запроса.
+    // Сначала совпадения по названию, внутри групп — более новые задачи
+    public List<Hit> suggest(String query, int limit) {
+        String[] tokens = terms(query);
+        if (tokens.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        String[] prefixes = tokens.length > MAX_QUERY_TOKENS ? Arrays.copyOf(tokens, MAX_QUERY_TOKENS) : tokens;
+        return lookupTimer.record(() -> {
+            lock.readLock().lock();
+            try {
+                return lookup(prefixes, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long postingCount() {
+        lock.readLock().lock();
+        try {
+            return postingCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long estimatedMemoryBytes() {
+        lock.readLock().lock();
+        try {
+            return termBytes + postingCapacity * Long.BYTES + documentBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Кандидаты перебираются только по самому редкому префиксу, остальные проверяются бинарным поиском
+    // в отсортированных термах документа
+    private List<Hit> lookup(String[] prefixes, int limit) {
+        NavigableMap<String, LongPostingList> rarest = null;
+        long rarestSize = Long.MAX_VALUE;
+        for (String prefix : prefixes) {
+            NavigableMap<String, LongPostingList> range = prefixRange(prefix);
+            long size = 0;
+            for (LongPostingList list : range.values()) {
+                size += list.size();
+            }
+            if (size == 0) {
+                return List.of();
+            }
+            if (size < rarestSize) {
+                rarest = range;
+                rarestSize = size;
+            }
+        }
+
+        List<Hit> titleHits = new ArrayList<>();
+        List<Hit> otherHits = new ArrayList<>();
+        DescendingMerge candidates = new DescendingMerge(rarest.values());
+        while (titleHits.size() < limit && candidates.hasNext()) {
+            long id = candidates.next();
+            Document document = documents.get(id);
+            if (!matchesAll(document.terms(), prefixes)) {
+                continue;
+            }
+            if (matchesAll(document.titleTerms(), prefixes)) {
+                titleHits.add(new Hit(id, document.title()));
+            } else if (otherHits.size() < limit) {
+                otherHits.add(new Hit(id, document.title()));
+            }
+        }
+        for (int i = 0; titleHits.size() < limit && i < otherHits.size(); i++) {
+            titleHits.add(otherHits.get(i));
+        }
+        return titleHits;
+    }
+
+    private NavigableMap<String, LongPostingList> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static boolean matchesAll(String[] sortedTerms, String[] prefixes) {
+        for (String prefix : prefixes) {
+            int index = Arrays.binarySearch(sortedTerms, prefix);
+            if (index < 0) {
+                int insertion = -index - 1;
+                if (insertion == sortedTerms.length || !sortedTerms[insertion].startsWith(prefix)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Возвращает ключ словаря, чтобы документ не хранил собственную копию строки терма
+    private String addPosting(String term, long id) {
+        Map.Entry<String, LongPostingList> entry = postings.ceilingEntry(term);
+        LongPostingList list;
+        if (entry != null && entry.getKey().equals(term)) {
+            term = entry.getKey();
+            list = entry.getValue();
+        } else {
+            list = new LongPostingList();
+            postings.put(term, list);
+            termBytes += TERM_OVERHEAD_BYTES + (long) term.length() * Character.BYTES;
+            postingCapacity += list.capacity();
+        }
+        int capacityBefore = list.capacity();
+        if (list.add(id)) {
+            postingCount++;
+        }
+        postingCapacity += list.capacity() - capacityBefore;
+        return term;
+    }
+
+    private void removePostings(long id, Document document) {
+        documentBytes -= documentBytes(document);
+        for (String term : document.terms()) {
+            LongPostingList list = postings.get(term);
+            int capacityBefore = list.capacity();
+            if (list.remove(id)) {
+                postingCount--;
+            }
+            postingCapacity += list.capacity() - capacityBefore;
+            if (list.size() == 0) {
+                postings.remove(term);
+                termBytes -= TERM_OVERHEAD_BYTES + (long) term.length() * Character.BYTES;
+                postingCapacity -= list.capacity();
+            }
+        }
+    }
+
+    private static long documentBytes(Document document) {
+        return DOCUMENT_OVERHEAD_BYTES
+                + (long) document.title().length() * Character.BYTES
+                + (document.titleTerms().length + document.terms().length) * REFERENCE_BYTES;
+    }
+
+    // Нижний регистр, ё приравнивается к е, разделитель — все, кроме букв и цифр
+    static String[] terms(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String normalized = text.toLowerCase(Locale.ROOT).replace('ё', 'е');
+        return TOKEN_SEPARATOR.splitAsStream(normalized)
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    // Слияние списков идентификаторов в порядке убывания без повторов: задача, в которой есть несколько
+    // термов с одним префиксом, выдается один раз
+    private static final class DescendingMerge {
+        private final LongPostingList[] lists;
+        private final PriorityQueue<Integer> queue;
+        private final int[] positions;
+        private long last = Long.MIN_VALUE;
+        private boolean started;
+
+        private DescendingMerge(Collection<LongPostingList> postingLists) {
+            this.lists = postingLists.toArray(LongPostingList[]::new);
+            this.positions = new int[lists.length];
+            this.queue = new PriorityQueue<>(Math.max(lists.length, 1),
+                    (a, b) -> Long.compare(lists[b].get(positions[b]), lists[a].get(positions[a])));
+            for (int i = 0; i < lists.length; i++) {
+                positions[i] = lists[i].size() - 1;
+                if (positions[i] >= 0) {
+                    queue.add(i);
+                }
+            }
+        }
+
+        private boolean hasNext() {
+            skipDuplicates();
+            return !queue.isEmpty();
+        }
+
+        private long next() {
+            skipDuplicates();
+            int list = queue.poll();
+            long value = lists[list].get(positions[list]);
+            advance(list);
+            last = value;
+            started = true;
+            return value;
+        }
+
+        private void skipDuplicates() {
+            while (started && !queue.isEmpty() && lists[queue.peek()].get(positions[queue.peek()]) == last) {
+                advance(queue.poll());
+            }
+        }
+
+        private void advance(int list) {
+            positions[list]--;
+            if (positions[list] >= 0) {
+                queue.add(list);
+            }
+        }
+    }
+}
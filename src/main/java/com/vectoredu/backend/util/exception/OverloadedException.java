@@ -0,0 +1,14 @@
+package com.vectoredu.backend.util.exception;
+
+public class OverloadedException extends RuntimeException{
+    private final long retryAfterSeconds;
+
+    public OverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,75 @@
+--liquibase formatted sql
+
+-- Схема, которую раньше создавал ddl-auto=update. На уже развернутых базах таблицы существуют,
+-- поэтому наборы изменений помечаются выполненными без применения.
+
+--changeset backend:001-create-users
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT count(*) FROM information_schema.tables WHERE table_schema = current_schema() AND table_name = 'users'
+CREATE TABLE users (
+    id                      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name              VARCHAR(255) NOT NULL,
+    last_name               VARCHAR(255) NOT NULL,
+    email                   VARCHAR(255) NOT NULL,
+    password                VARCHAR(255) NOT NULL,
+    verification_code       VARCHAR(255),
+    verification_expiration TIMESTAMP(6),
+    enabled                 BOOLEAN      NOT NULL,
+    role                    VARCHAR(255) NOT NULL CHECK (role IN ('USER', 'ADMIN')),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+--changeset backend:001-create-tasks
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT count(*) FROM information_schema.tables WHERE table_schema = current_schema() AND table_name = 'tasks'
+CREATE TABLE tasks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    status      VARCHAR(255) CHECK (status IN ('PENDING', 'IN_PROGRESS', 'COMPLETED')),
+    priority    VARCHAR(255) NOT NULL CHECK (priority IN ('HIGH', 'MEDIUM', 'LOW')),
+    author_id   BIGINT       NOT NULL,
+    assignee_id BIGINT       NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_tasks_author FOREIGN KEY (author_id) REFERENCES users (id),
+    CONSTRAINT fk_tasks_assignee FOREIGN KEY (assignee_id) REFERENCES users (id)
+);
+
+--changeset backend:001-tasks-timestamps
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT CASE WHEN count(*) = 2 THEN 1 ELSE 0 END FROM information_schema.columns WHERE table_schema = current_schema() AND table_name = 'tasks' AND column_name IN ('created_at', 'updated_at') AND is_nullable = 'NO'
+-- На базах, созданных до появления created_at/updated_at, набор 001-create-tasks помечен выполненным без
+-- применения, и колонок нет. Они добавляются допускающими NULL, заполняются текущим временем и только
+-- потом становятся NOT NULL: иначе ALTER упадет на непустой таблице. Индексы из 002 опираются на created_at
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS created_at TIMESTAMP(6);
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+UPDATE tasks SET created_at = now() WHERE created_at IS NULL;
+UPDATE tasks SET updated_at = created_at WHERE updated_at IS NULL;
+ALTER TABLE tasks ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE tasks ALTER COLUMN updated_at SET NOT NULL;
+
+--changeset backend:001-create-comments
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT count(*) FROM information_schema.tables WHERE table_schema = current_schema() AND table_name = 'comments'
+CREATE TABLE comments (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    task_id   BIGINT       NOT NULL,
+    author_id BIGINT       NOT NULL,
+    text      VARCHAR(255),
+    CONSTRAINT fk_comments_task FOREIGN KEY (task_id) REFERENCES tasks (id),
+    CONSTRAINT fk_comments_author FOREIGN KEY (author_id) REFERENCES users (id)
+);
+
+--changeset backend:001-create-reset-password
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT count(*) FROM information_schema.tables WHERE table_schema = current_schema() AND table_name = 'reset_password'
+CREATE TABLE reset_password (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         BIGINT NOT NULL,
+    token           VARCHAR(255),
+    expiration_date TIMESTAMP(6),
+    CONSTRAINT uk_reset_password_user UNIQUE (user_id),
+    CONSTRAINT uk_reset_password_token UNIQUE (token),
+    CONSTRAINT fk_reset_password_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,25 @@
+--liquibase formatted sql
+
+-- Индексы под фактические запросы репозиториев. IF NOT EXISTS: часть из них уже могла создать
+-- Hibernate по аннотациям @Index, пока схемой владел ddl-auto=update.
+
+--changeset backend:002-tasks-indexes
+-- Общий список и keyset-пагинация: ORDER BY created_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at_id ON tasks (created_at, id);
+-- TaskRepository: списки/срезы/курсоры по исполнителю и автору, COUNT по ним и проверки внешних ключей
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_created_at_id ON tasks (assignee_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_author_created_at_id ON tasks (author_id, created_at, id);
+
+--changeset backend:002-comments-indexes
+-- CommentRepository: комментарии страницы (task_id IN (...) ORDER BY id) и deleteByTask
+CREATE INDEX IF NOT EXISTS idx_comments_task_id_id ON comments (task_id, id);
+-- Проверка внешнего ключа при удалении пользователя
+CREATE INDEX IF NOT EXISTS idx_comments_author_id ON comments (author_id);
+
+--changeset backend:002-users-indexes
+-- UserRepository.findByVerificationCode: код есть только у неподтвержденных пользователей
+CREATE INDEX IF NOT EXISTS idx_users_verification_code ON users (verification_code)
+    WHERE verification_code IS NOT NULL;
+
+-- reset_password: findByToken/deleteByToken и deleteByUser уже обслуживаются индексами
+-- уникальных ограничений на token и user_id (см. 001-create-reset-password).
@@ -0,0 +1,5 @@
+--liquibase formatted sql
+
+--changeset backend:003-users-token-version
+-- Версия токенов пользователя: сверяется с claim "ver" при аутентификации по JWT без загрузки пользователя
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,19 @@
+--liquibase formatted sql
+
+--changeset backend:004-create-email-outbox
+-- Исходящие письма: пишутся в транзакции бизнес-операции, отправляются фоновым диспетчером
+CREATE TABLE email_outbox (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    recipient       VARCHAR(255)  NOT NULL,
+    subject         VARCHAR(255)  NOT NULL,
+    body            TEXT          NOT NULL,
+    status          VARCHAR(255)  NOT NULL CHECK (status IN ('PENDING', 'SENT', 'DEAD')),
+    attempts        INTEGER       NOT NULL,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    locked_until    TIMESTAMP(6),
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP(6)  NOT NULL,
+    sent_at         TIMESTAMP(6)
+);
+-- EmailOutboxRepository.findDispatchable: только ожидающие отправки, в порядке очереди
+CREATE INDEX idx_email_outbox_pending ON email_outbox (next_attempt_at, id) WHERE status = 'PENDING';
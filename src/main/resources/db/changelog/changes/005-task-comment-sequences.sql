@@ -0,0 +1,12 @@
+--liquibase formatted sql
+
+--changeset backend:005-tasks-sequence
+-- Идентификаторы задач выдает последовательность с шагом 50: Hibernate резервирует диапазон за один
+-- запрос и может отправлять вставки пакетами, чего IDENTITY не позволяет.
+-- Первый nextval возвращает верхнюю границу диапазона, поэтому значение сдвигается на шаг от текущего максимума
+CREATE SEQUENCE IF NOT EXISTS tasks_seq INCREMENT BY 50;
+SELECT setval('tasks_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM tasks), false);
+
+--changeset backend:005-comments-sequence
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
+SELECT setval('comments_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM comments), false);
@@ -0,0 +1,21 @@
+--liquibase formatted sql
+
+--changeset backend:006-comments-task-cascade splitStatements:false
+-- Комментарии удаляются вместе с задачей на стороне базы: удаление задачи — один DELETE без выборки комментариев.
+-- Имя старого ключа зависит от того, кто создал схему (Liquibase или ddl-auto=update), поэтому ключ ищется по колонке
+DO $$
+DECLARE
+    constraint_name TEXT;
+BEGIN
+    FOR constraint_name IN
+        SELECT con.conname
+        FROM pg_constraint con
+        JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = ANY (con.conkey)
+        WHERE con.conrelid = 'comments'::regclass AND con.contype = 'f' AND att.attname = 'task_id'
+    LOOP
+        EXECUTE format('ALTER TABLE comments DROP CONSTRAINT %I', constraint_name);
+    END LOOP;
+END $$;
+
+ALTER TABLE comments
+    ADD CONSTRAINT fk_comments_task FOREIGN KEY (task_id) REFERENCES tasks (id) ON DELETE CASCADE;
@@ -0,0 +1,8 @@
+--liquibase formatted sql
+
+--changeset backend:007-expired-account-indexes
+-- ExpiredAccountReaper: пачки просроченных регистраций и токенов сброса пароля выбираются диапазоном по индексу,
+-- без полного просмотра таблиц. В индекс пользователей попадают только не верифицированные
+CREATE INDEX IF NOT EXISTS idx_users_unverified_expiration ON users (verification_expiration)
+    WHERE enabled = false;
+CREATE INDEX IF NOT EXISTS idx_reset_password_expiration ON reset_password (expiration_date);
@@ -0,0 +1,19 @@
+--liquibase formatted sql
+
+-- Полнотекстовый поиск администратора (TaskSearch). Конфигурация russian: кириллица проходит через русский
+-- стеммер, латиница через английский. Веса: название A, описание B, комментарии C.
+-- Регистр кириллицы приводится по LC_CTYPE базы: нужна UTF-8 локаль (с локалью C «Миграция» не найдется по «миграция»).
+-- Добавление STORED-колонки переписывает таблицу: на больших базах применять в окно обслуживания
+
+--changeset backend:008-tasks-search-vector
+ALTER TABLE tasks ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('russian', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('russian', coalesce(description, '')), 'B')
+) STORED;
+CREATE INDEX idx_tasks_search_vector ON tasks USING GIN (search_vector);
+
+--changeset backend:008-comments-search-vector
+ALTER TABLE comments ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('russian', coalesce(text, '')), 'C')
+) STORED;
+CREATE INDEX idx_comments_search_vector ON comments USING GIN (search_vector);
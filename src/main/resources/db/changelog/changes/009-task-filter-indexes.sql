@@ -0,0 +1,13 @@
+--liquibase formatted sql
+
+--changeset backend:009-task-filter-indexes
+-- TaskFiltering: частые сочетания фильтров списков задач с порядком ORDER BY created_at DESC, id DESC.
+-- Индексы читаются в обратном порядке и отдают первую страницу без сортировки всей выборки.
+-- Фильтр по статусу в общем списке администратора
+CREATE INDEX IF NOT EXISTS idx_tasks_status_created_at_id ON tasks (status, created_at, id);
+-- «Мои задачи в работе»: список исполнителя с фильтром по статусу
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_status_created_at_id ON tasks (assignee_id, status, created_at, id);
+-- Незавершенные задачи по приоритету. Завершенные — основная масса таблицы, в частичный индекс они не попадают;
+-- планировщик берет его, когда фильтр по статусам исключает COMPLETED
+CREATE INDEX IF NOT EXISTS idx_tasks_open_priority_created_at_id ON tasks (priority, created_at, id)
+    WHERE status <> 'COMPLETED';
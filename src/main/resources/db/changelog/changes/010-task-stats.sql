@@ -0,0 +1,78 @@
+--liquibase formatted sql
+
+-- Счетчики задач по исполнителю, статусу и приоритету для дашборда. Их ведут триггеры в той же транзакции,
+-- что и изменение задач, поэтому учитываются все пути записи: JPA, массовые UPDATE/DELETE и каскады.
+-- Триггеры уровня оператора получают измененные строки таблицами переходов и применяют одну агрегированную
+-- дельту на группу: массовое изменение тысяч задач — несколько строк task_stats, а не тысячи обновлений
+
+--changeset backend:010-tasks-status-not-null
+-- Статус входит в ключ счетчика. Приложение создает задачи в статусе PENDING, NULL мог остаться со времен ddl-auto
+UPDATE tasks SET status = 'PENDING' WHERE status IS NULL;
+ALTER TABLE tasks ALTER COLUMN status SET NOT NULL;
+
+--changeset backend:010-task-stats-table
+-- Нулевые строки не удаляются: их немного (исполнители × статусы × приоритеты), а повторная вставка дороже.
+-- CHECK (task_count >= 0) невозможен: уменьшение идет через INSERT ... ON CONFLICT с отрицательной дельтой,
+-- а ограничения проверяются на вставляемой строке до разрешения конфликта
+CREATE TABLE task_stats (
+    assignee_id BIGINT       NOT NULL,
+    status      VARCHAR(255) NOT NULL,
+    priority    VARCHAR(255) NOT NULL,
+    task_count  BIGINT       NOT NULL,
+    CONSTRAINT pk_task_stats PRIMARY KEY (assignee_id, status, priority),
+    CONSTRAINT fk_task_stats_assignee FOREIGN KEY (assignee_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+--changeset backend:010-task-stats-function splitStatements:false
+-- Дельты применяются в порядке ключа: параллельные транзакции блокируют строки счетчиков в одном порядке
+-- и не попадают во взаимную блокировку
+CREATE OR REPLACE FUNCTION task_stats_apply() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO task_stats AS s (assignee_id, status, priority, task_count)
+        SELECT assignee_id, status, priority, count(*)
+        FROM new_rows
+        GROUP BY assignee_id, status, priority
+        ORDER BY assignee_id, status, priority
+        ON CONFLICT (assignee_id, status, priority) DO UPDATE SET task_count = s.task_count + EXCLUDED.task_count;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO task_stats AS s (assignee_id, status, priority, task_count)
+        SELECT assignee_id, status, priority, -count(*)
+        FROM old_rows
+        GROUP BY assignee_id, status, priority
+        ORDER BY assignee_id, status, priority
+        ON CONFLICT (assignee_id, status, priority) DO UPDATE SET task_count = s.task_count + EXCLUDED.task_count;
+    ELSE
+        -- Правка названия или описания дает нулевую дельту и не трогает счетчики
+        INSERT INTO task_stats AS s (assignee_id, status, priority, task_count)
+        SELECT assignee_id, status, priority, sum(delta)
+        FROM (SELECT assignee_id, status, priority, 1 AS delta FROM new_rows
+              UNION ALL
+              SELECT assignee_id, status, priority, -1 AS delta FROM old_rows) changes
+        GROUP BY assignee_id, status, priority
+        HAVING sum(delta) <> 0
+        ORDER BY assignee_id, status, priority
+        ON CONFLICT (assignee_id, status, priority) DO UPDATE SET task_count = s.task_count + EXCLUDED.task_count;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+--changeset backend:010-task-stats-triggers
+-- Таблицы переходов допускают только одно событие на триггер, поэтому триггеров три.
+-- CREATE TRIGGER блокирует запись в tasks до конца транзакции, так что начальное заполнение согласовано
+CREATE TRIGGER trg_task_stats_insert AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION task_stats_apply();
+CREATE TRIGGER trg_task_stats_update AFTER UPDATE ON tasks
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION task_stats_apply();
+CREATE TRIGGER trg_task_stats_delete AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION task_stats_apply();
+
+INSERT INTO task_stats (assignee_id, status, priority, task_count)
+SELECT assignee_id, status, priority, count(*)
+FROM tasks
+GROUP BY assignee_id, status, priority;
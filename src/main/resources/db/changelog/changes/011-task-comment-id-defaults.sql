@@ -0,0 +1,19 @@
+--liquibase formatted sql
+
+--changeset backend:011-tasks-id-default
+-- Единственный источник идентификаторов задач — tasks_seq: IDENTITY снимается, и вставка без id (ручной SQL,
+-- скрипты) берет значение из той же последовательности, что и Hibernate. Такой nextval занимает целый диапазон
+-- из 50 значений, поэтому с диапазонами Hibernate он не пересекается.
+-- Если после 005 строки успели получить id от IDENTITY, последовательность сдвигается за них
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT nextval('tasks_seq');
+SELECT setval('tasks_seq', (SELECT MAX(id) + 50 FROM tasks), false)
+FROM tasks_seq
+WHERE (SELECT MAX(id) FROM tasks) > last_value + CASE WHEN is_called THEN 50 ELSE 0 END - 50;
+
+--changeset backend:011-comments-id-default
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+SELECT setval('comments_seq', (SELECT MAX(id) + 50 FROM comments), false)
+FROM comments_seq
+WHERE (SELECT MAX(id) FROM comments) > last_value + CASE WHEN is_called THEN 50 ELSE 0 END - 50;
@@ -0,0 +1,5 @@
+--liquibase formatted sql
+
+--changeset backend:012-task-updated-at-index
+-- Периодическое обновление индекса подсказок читает задачи, измененные за последний интервал
+CREATE INDEX IF NOT EXISTS idx_tasks_updated_at ON tasks (updated_at);
@@ -0,0 +1,31 @@
+--liquibase formatted sql
+
+-- Журнал удаленных задач для обновления индекса подсказок на других экземплярах: удаление не оставляет
+-- updated_at, по которому обновление находит измененные задачи. Журнал ведет триггер, поэтому учитываются
+-- все пути удаления: JPA, массовый DELETE и каскад при удалении автора или исполнителя.
+-- Строки старше reaper.task-deletions-retention удаляет фоновая очистка
+
+--changeset backend:013-task-deletions-table
+-- Идентификаторы задач берутся из последовательности и не переиспользуются
+CREATE TABLE task_deletions (
+    task_id    BIGINT       NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL DEFAULT LOCALTIMESTAMP,
+    CONSTRAINT pk_task_deletions PRIMARY KEY (task_id)
+);
+CREATE INDEX idx_task_deletions_deleted_at ON task_deletions (deleted_at);
+
+--changeset backend:013-task-deletions-function splitStatements:false
+CREATE OR REPLACE FUNCTION task_deletions_record() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO task_deletions (task_id)
+    SELECT id FROM old_rows
+    ON CONFLICT (task_id) DO NOTHING;
+    RETURN NULL;
+END;
+$$;
+
+--changeset backend:013-task-deletions-trigger
+CREATE TRIGGER trg_task_deletions AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION task_deletions_record();
@@ -0,0 +1,59 @@
+package com.vectoredu.backend.benchmark;
+
+import com.vectoredu.backend.model.Comment;
+import com.vectoredu.backend.model.Task;
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Role;
+import com.vectoredu.backend.model.enums.Status;
+import com.vectoredu.backend.service.JwtService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Общие данные для бенчмарков: сервисы собираются без Spring-контекста, как в модульных тестах
+final class BenchmarkFixtures {
+    static final String SECRET = "c2VjcmV0LXNlY3JldC1zZWNyZXQtc2VjcmV0LXNlY3JldC1zZWNyZXQtc2VjcmV0";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtService jwtService() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMillis", 900_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenExpirationMillis", 5_184_000_000L);
+        jwtService.init();
+        return jwtService;
+    }
+
+    static User user(long id, String email, Role role) {
+        return User.builder()
+                .id(id)
+                .firstName("Ivan")
+                .lastName("Petrov")
+                .email(email)
+                .role(role)
+                .enabled(true)
+                .build();
+    }
+
+    static Task task(long id, User author, User assignee, int commentCount) {
+        Task task = Task.builder()
+                .id(id)
+                .title("Task " + id)
+                .description("Description of task " + id + " with enough text to look like a real one")
+                .priority(Priority.values()[(int) (id % Priority.values().length)])
+                .status(Status.PENDING)
+                .author(author)
+                .assignee(assignee)
+                .build();
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < commentCount; i++) {
+            comments.add(Comment.builder().task(task).author(author).text("Comment " + i + " on task " + id).build());
+        }
+        task.setComments(comments);
+        return task;
+    }
+}
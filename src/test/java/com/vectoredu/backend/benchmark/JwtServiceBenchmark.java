@@ -0,0 +1,54 @@
+package com.vectoredu.backend.benchmark;
+
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.model.enums.Role;
+import com.vectoredu.backend.service.JwtService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Выпуск токенов при входе и разбор токена на каждом запросе
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = BenchmarkFixtures.jwtService();
+        user = BenchmarkFixtures.user(1L, "user@example.com", Role.USER);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return jwtService.generateRefreshToken(user);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtService.extractAllClaims(token);
+    }
+}
@@ -0,0 +1,82 @@
+package com.vectoredu.backend.benchmark;
+
+import com.vectoredu.backend.config.CacheConfiguration;
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.model.enums.Role;
+import com.vectoredu.backend.service.JwtService;
+import com.vectoredu.backend.service.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Стоимость проверки JWT на один запрос: прежний конвейер (ключ и парсер на каждый вызов, три разбора токена)
+// против текущего (готовый парсер, один разбор) и попадания в кэш проверенных токенов.
+// Запуск: mvn test -Pbenchmark -Djmh.args="JwtVerificationBenchmark -prof gc"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+    private JwtService jwtService;
+    private VerifiedTokenCache verifiedTokenCache;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = BenchmarkFixtures.jwtService();
+        user = BenchmarkFixtures.user(1L, "user@example.com", Role.USER);
+        token = jwtService.generateToken(user);
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfiguration.VERIFIED_TOKENS);
+        verifiedTokenCache = new VerifiedTokenCache(jwtService, cacheManager, true);
+    }
+
+    // Прежний фильтр: extractUsername, затем isTokenValid -> extractUsername и extractExpiration
+    @Benchmark
+    public boolean legacyPipeline() {
+        String username = legacyParse(token).getSubject();
+        return username.equals(legacyParse(token).getSubject())
+                && legacyParse(token).getExpiration().after(new Date());
+    }
+
+    @Benchmark
+    public boolean singleParsePipeline() {
+        Claims claims = jwtService.extractAllClaims(token);
+        return jwtService.isTokenValid(claims, user);
+    }
+
+    // Повторный запрос с тем же токеном: SHA-256 и поиск в кэше вместо HMAC и разбора JSON
+    @Benchmark
+    public boolean cachedPipeline() {
+        Claims claims = verifiedTokenCache.verify(token);
+        return jwtService.isTokenValid(claims, user);
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(BenchmarkFixtures.SECRET));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
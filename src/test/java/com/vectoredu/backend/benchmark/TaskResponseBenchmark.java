@@ -0,0 +1,98 @@
+package com.vectoredu.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectoredu.backend.dto.response.TaskResponse;
+import com.vectoredu.backend.model.Task;
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.model.enums.Role;
+import com.vectoredu.backend.service.AdminService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Сборка страницы задач для ответа: маппинг сущностей в TaskResponse и сериализация Page<TaskResponse> в JSON
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskResponseBenchmark {
+
+    // Маппинг закрыт внутри сервиса; статический MethodHandle JIT сворачивает в прямой вызов
+    private static final MethodHandle MAP_TO_TASK_RESPONSE;
+
+    static {
+        try {
+            MAP_TO_TASK_RESPONSE = MethodHandles.privateLookupIn(AdminService.class, MethodHandles.lookup())
+                    .findVirtual(AdminService.class, "mapToTaskResponse",
+                            MethodType.methodType(TaskResponse.class, Task.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    @Param({"0", "5"})
+    private int commentsPerTask;
+
+    private AdminService adminService;
+    private ObjectMapper objectMapper;
+    private List<Task> tasks;
+    private Page<TaskResponse> page;
+
+    @Setup
+    public void setup() throws Throwable {
+        // Зависимости сервиса маппингу не нужны
+        adminService = new AdminService(null, null, null, null, null, null, null, null);
+        // Те же настройки по умолчанию, что у ObjectMapper в приложении
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        User author = BenchmarkFixtures.user(1L, "admin@example.com", Role.ADMIN);
+        User assignee = BenchmarkFixtures.user(2L, "user@example.com", Role.USER);
+        tasks = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            tasks.add(BenchmarkFixtures.task(i, author, assignee, commentsPerTask));
+        }
+        page = new PageImpl<>(mapAll(), PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public List<TaskResponse> mapToTaskResponse() throws Throwable {
+        return mapAll();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    private List<TaskResponse> mapAll() throws Throwable {
+        List<TaskResponse> responses = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            responses.add((TaskResponse) MAP_TO_TASK_RESPONSE.invokeExact(adminService, task));
+        }
+        return responses;
+    }
+}
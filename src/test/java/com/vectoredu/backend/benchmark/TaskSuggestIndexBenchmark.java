@@ -0,0 +1,69 @@
+package com.vectoredu.backend.benchmark;
+
+import com.vectoredu.backend.util.TaskSuggestIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Подсказки при вводе: короткий префикс с множеством совпадений, редкое слово и запрос из двух слов
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSuggestIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "миграция", "база", "данных", "отчет", "релиз", "сервер", "почта", "вход", "пароль", "документация",
+            "тест", "нагрузка", "индекс", "поиск", "кэш", "очередь", "платеж", "клиент", "интерфейс", "ошибка"
+    };
+
+    @Param({"100000"})
+    private int tasks;
+
+    private TaskSuggestIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new TaskSuggestIndex(new SimpleMeterRegistry());
+        Random random = new Random(42);
+        for (long id = 1; id <= tasks; id++) {
+            String title = word(random) + " " + word(random) + " " + id;
+            String description = word(random) + " " + word(random) + " " + word(random) + " " + word(random);
+            index.put(id, id, title, description);
+        }
+    }
+
+    @Benchmark
+    public List<TaskSuggestIndex.Hit> shortPrefix() {
+        return index.suggest("м", 10);
+    }
+
+    @Benchmark
+    public List<TaskSuggestIndex.Hit> rareTerm() {
+        return index.suggest("4242", 10);
+    }
+
+    @Benchmark
+    public List<TaskSuggestIndex.Hit> twoWords() {
+        return index.suggest("миграц отч", 10);
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
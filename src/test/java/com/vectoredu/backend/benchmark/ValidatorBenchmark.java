@@ -0,0 +1,61 @@
+package com.vectoredu.backend.benchmark;
+
+import com.vectoredu.backend.util.validators.EmailValidator;
+import com.vectoredu.backend.util.validators.InputValidator;
+import com.vectoredu.backend.util.validators.PasswordValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Проверки, которые выполняются при регистрации, входе и создании задач
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    private final EmailValidator emailValidator = new EmailValidator();
+    private final PasswordValidator passwordValidator = new PasswordValidator();
+    private final InputValidator inputValidator = new InputValidator();
+
+    private final String validEmail = "ivan.petrov+tasks@mail.example.com";
+    private final String invalidEmail = "ivan.petrov@@example";
+    private final String validPassword = "Password123";
+    private final String invalidPassword = "password";
+    private final String input = "Описание задачи ".repeat(12);
+
+    @Benchmark
+    public boolean validEmail() {
+        return emailValidator.isValid(validEmail, null);
+    }
+
+    @Benchmark
+    public boolean invalidEmail() {
+        return emailValidator.isValid(invalidEmail, null);
+    }
+
+    @Benchmark
+    public boolean validPassword() {
+        return passwordValidator.isValid(validPassword, null);
+    }
+
+    @Benchmark
+    public boolean invalidPassword() {
+        return passwordValidator.isValid(invalidPassword, null);
+    }
+
+    @Benchmark
+    public boolean input() {
+        return inputValidator.isValid(input, null);
+    }
+}
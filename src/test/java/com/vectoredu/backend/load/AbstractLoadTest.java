@@ -0,0 +1,274 @@
+package com.vectoredu.backend.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.vectoredu.backend.dto.request.authenticationRequestDto.LoginUserDto;
+import com.vectoredu.backend.model.Comment;
+import com.vectoredu.backend.model.Task;
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Role;
+import com.vectoredu.backend.model.enums.Status;
+import com.vectoredu.backend.repository.CommentRepository;
+import com.vectoredu.backend.repository.TaskRepository;
+import com.vectoredu.backend.repository.UserRepository;
+import com.vectoredu.backend.service.JwtService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Окружение нагрузочных тестов: приложение на случайном порту, встроенный Postgres и GreenMail вместо SMTP.
+// Для прогона на своем сервере: -Dload.jdbc-url, -Dload.jdbc-username, -Dload.jdbc-password.
+// База должна быть отдельной: после каждого теста таблицы очищаются целиком
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.liquibase.enabled=true")
+public abstract class AbstractLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AbstractLoadTest.class);
+
+    protected static final String PASSWORD = "LoadPassword123";
+
+    private static final int USER_COUNT = Integer.getInteger("load.users", 50);
+    private static final int TASKS_PER_USER = Integer.getInteger("load.tasks-per-user", 20);
+    private static final int COMMENTS_PER_TASK = Integer.getInteger("load.comments-per-task", 2);
+
+    protected static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("load.warmup-seconds", 5));
+    protected static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("load.duration-seconds", 15));
+
+    private static final String JDBC_URL = System.getProperty("load.jdbc-url");
+    private static EmbeddedPostgres embeddedPostgres;
+
+    static {
+        if (JDBC_URL == null) {
+            try {
+                embeddedPostgres = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    embeddedPostgres.close();
+                } catch (IOException ignored) {
+                    // Процесс Postgres уже остановлен
+                }
+            }));
+        }
+    }
+
+    public static GreenMail greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+
+    static {
+        greenMail.setUser("support@example.com", "support@example.com", "secret");
+        greenMail.start();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        if (JDBC_URL == null) {
+            registry.add("spring.datasource.url", () -> embeddedPostgres.getJdbcUrl("postgres", "postgres"));
+            registry.add("spring.datasource.username", () -> "postgres");
+            registry.add("spring.datasource.password", () -> "");
+        } else {
+            registry.add("spring.datasource.url", () -> JDBC_URL);
+            registry.add("spring.datasource.username", () -> System.getProperty("load.jdbc-username", "postgres"));
+            registry.add("spring.datasource.password", () -> System.getProperty("load.jdbc-password", ""));
+        }
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", () -> greenMail.getSmtp().getPort());
+        registry.add("spring.mail.username", () -> "support@example.com");
+        registry.add("spring.mail.password", () -> "secret");
+    }
+
+    protected record SeededUser(String email, String token, List<Long> taskIds) {
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    protected List<SeededUser> users;
+    protected List<Long> taskIds;
+    protected String adminToken;
+
+    @BeforeEach
+    public void seed() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        // BCrypt считается один раз: у всех пользователей одинаковый пароль
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        User admin = saveUser("load-admin@example.com", Role.ADMIN, passwordHash);
+        adminToken = jwtService.generateToken(admin);
+
+        users = new ArrayList<>();
+        taskIds = new ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = saveUser("load-user-" + i + "@example.com", Role.USER, passwordHash);
+
+            List<Task> tasks = new ArrayList<>();
+            List<Comment> comments = new ArrayList<>();
+            for (int j = 0; j < TASKS_PER_USER; j++) {
+                Task task = Task.builder()
+                        .title("Load task " + i + "-" + j)
+                        .description("Load task description " + i + "-" + j)
+                        .priority(Priority.values()[j % Priority.values().length])
+                        .status(Status.PENDING)
+                        .author(admin)
+                        .assignee(user)
+                        .build();
+                tasks.add(task);
+                for (int k = 0; k < COMMENTS_PER_TASK; k++) {
+                    comments.add(Comment.builder().task(task).author(k % 2 == 0 ? admin : user).text("Comment " + k).build());
+                }
+            }
+            List<Long> userTaskIds = taskRepository.saveAll(tasks).stream().map(Task::getId).toList();
+            commentRepository.saveAll(comments);
+
+            users.add(new SeededUser(user.getEmail(), jwtService.generateToken(user), userTaskIds));
+            taskIds.addAll(userTaskIds);
+        }
+        log.info("Нагрузочные данные: {} пользователей, {} задач", users.size(), taskIds.size());
+    }
+
+    @AfterEach
+    public void clearDatabase() {
+        jdbcTemplate.execute("DELETE FROM email_outbox;");
+        jdbcTemplate.execute("DELETE FROM comments;");
+        jdbcTemplate.execute("DELETE FROM tasks;");
+        jdbcTemplate.execute("DELETE FROM reset_password;");
+        jdbcTemplate.execute("DELETE FROM users;");
+    }
+
+    protected static int concurrency(int defaultConcurrency) {
+        return Integer.getInteger("load.concurrency", defaultConcurrency);
+    }
+
+    protected LoadReport run(String title, List<LoadDriver.Endpoint> endpoints, int concurrency) throws Exception {
+        LoadReport report = new LoadDriver().run(title, endpoints, concurrency, WARMUP, DURATION);
+        log.info("\n{}Отчет: {}", report.format(), report.write(title + ".txt").toAbsolutePath());
+        return report;
+    }
+
+    protected LoadDriver.Endpoint login(int weight) {
+        return new LoadDriver.Endpoint("POST /auth/login", weight, 200, () -> {
+            SeededUser user = randomUser();
+            return HttpRequest.newBuilder(uri("/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json(new LoginUserDto(user.email(), PASSWORD))))
+                    .build();
+        });
+    }
+
+    protected LoadDriver.Endpoint userTasks(int weight) {
+        return new LoadDriver.Endpoint("GET /user/tasks", weight, 200, () -> HttpRequest.newBuilder(uri("/user/tasks?page=0&size=20"))
+                .header("Authorization", "Bearer " + randomUser().token())
+                .GET()
+                .build());
+    }
+
+    protected LoadDriver.Endpoint adminTasks(int weight) {
+        return new LoadDriver.Endpoint("GET /admin/tasks", weight, 200, () -> {
+            int page = ThreadLocalRandom.current().nextInt(Math.max(taskIds.size() / 20, 1));
+            return HttpRequest.newBuilder(uri("/admin/tasks?page=" + page + "&size=20"))
+                    .header("Authorization", "Bearer " + adminToken)
+                    .GET()
+                    .build();
+        });
+    }
+
+    // Исполнитель комментирует одну из своих задач
+    protected LoadDriver.Endpoint userComment(int weight) {
+        return new LoadDriver.Endpoint("POST /user/tasks/{id}/comments", weight, 200, () -> {
+            SeededUser user = randomUser();
+            Long taskId = user.taskIds().get(ThreadLocalRandom.current().nextInt(user.taskIds().size()));
+            return HttpRequest.newBuilder(uri("/user/tasks/" + taskId + "/comments"))
+                    .header("Authorization", "Bearer " + user.token())
+                    .header("Content-Type", "text/plain; charset=UTF-8")
+                    .POST(HttpRequest.BodyPublishers.ofString("Нагрузочный комментарий"))
+                    .build();
+        });
+    }
+
+    protected LoadDriver.Endpoint adminComment(int weight) {
+        return new LoadDriver.Endpoint("POST /admin/tasks/{id}/comments", weight, 200, () -> {
+            Long taskId = taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+            return HttpRequest.newBuilder(uri("/admin/tasks/" + taskId + "/comments"))
+                    .header("Authorization", "Bearer " + adminToken)
+                    .header("Content-Type", "text/plain; charset=UTF-8")
+                    .POST(HttpRequest.BodyPublishers.ofString("Комментарий администратора"))
+                    .build();
+        });
+    }
+
+    protected SeededUser randomUser() {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private User saveUser(String email, Role role, String passwordHash) {
+        return userRepository.save(User.builder()
+                .firstName("Load")
+                .lastName("User")
+                .email(email)
+                .password(passwordHash)
+                .role(role)
+                .enabled(true)
+                .build());
+    }
+}
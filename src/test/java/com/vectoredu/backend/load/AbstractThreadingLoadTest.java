@@ -0,0 +1,24 @@
+package com.vectoredu.backend.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Один и тот же сценарий нагрузки прогоняется на платформенных и на виртуальных потоках Tomcat
+public abstract class AbstractThreadingLoadTest extends AbstractLoadTest {
+
+    protected abstract String mode();
+
+    @Test
+    public void testMixedWorkload() throws Exception {
+        // Вход упирается в пул BCrypt: при перегрузке ожидаем 503, а не рост задержек у остальных запросов
+        LoadReport report = run(mode(), List.of(userTasks(8), login(1)), concurrency(200));
+
+        LoadReport.EndpointResult listing = report.endpoint("GET /user/tasks");
+        assertTrue(listing.requests() > 0);
+        assertEquals(0, listing.errors());
+    }
+}
@@ -0,0 +1,118 @@
+package com.vectoredu.backend.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Замкнутая модель нагрузки: concurrency потоков непрерывно отправляют запросы, выбирая эндпоинт по весам.
+// Время ответа и статусы собираются по каждому эндпоинту отдельно
+public class LoadDriver {
+
+    public record Endpoint(String name, int weight, int expectedStatus, Supplier<HttpRequest> request) {
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public LoadReport run(String title, List<Endpoint> endpoints, int concurrency, Duration warmup, Duration duration)
+            throws Exception {
+        // Прогрев: JIT, пулы соединений и кэши; результаты отбрасываются
+        execute(endpoints, concurrency, warmup);
+
+        long start = System.nanoTime();
+        List<Map<String, Samples>> perWorker = execute(endpoints, concurrency, duration);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Samples> merged = new HashMap<>();
+        for (Map<String, Samples> worker : perWorker) {
+            worker.forEach((name, samples) -> merged.computeIfAbsent(name, n -> new Samples()).addAll(samples));
+        }
+
+        List<LoadReport.EndpointResult> results = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            Samples samples = merged.getOrDefault(endpoint.name(), new Samples());
+            results.add(LoadReport.EndpointResult.of(endpoint.name(), samples.latencies, samples.errors, elapsedSeconds));
+        }
+        return new LoadReport(title, concurrency, elapsedSeconds, results);
+    }
+
+    private List<Map<String, Samples>> execute(List<Endpoint> endpoints, int concurrency, Duration duration)
+            throws Exception {
+        int totalWeight = endpoints.stream().mapToInt(Endpoint::weight).sum();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Map<String, Samples>>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> worker(endpoints, totalWeight, deadline)));
+            }
+
+            List<Map<String, Samples>> results = new ArrayList<>();
+            for (Future<Map<String, Samples>> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private Map<String, Samples> worker(List<Endpoint> endpoints, int totalWeight, long deadline) {
+        Map<String, Samples> samples = new HashMap<>();
+        while (System.nanoTime() < deadline) {
+            Endpoint endpoint = pick(endpoints, totalWeight);
+            Samples endpointSamples = samples.computeIfAbsent(endpoint.name(), n -> new Samples());
+
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(endpoint.request().get(), HttpResponse.BodyHandlers.discarding());
+                endpointSamples.latencies.add(System.nanoTime() - start);
+                if (response.statusCode() != endpoint.expectedStatus()) {
+                    endpointSamples.errors++;
+                }
+            } catch (Exception e) {
+                endpointSamples.latencies.add(System.nanoTime() - start);
+                endpointSamples.errors++;
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return samples;
+    }
+
+    private static Endpoint pick(List<Endpoint> endpoints, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            roll -= endpoint.weight();
+            if (roll < 0) {
+                return endpoint;
+            }
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    private static class Samples {
+        private final List<Long> latencies = new ArrayList<>();
+        private long errors;
+
+        private void addAll(Samples other) {
+            latencies.addAll(other.latencies);
+            errors += other.errors;
+        }
+    }
+}
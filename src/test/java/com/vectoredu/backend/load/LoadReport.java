@@ -0,0 +1,61 @@
+package com.vectoredu.backend.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public record LoadReport(String title, int concurrency, double elapsedSeconds, List<EndpointResult> endpoints) {
+
+    private static final Path REPORT_DIRECTORY = Path.of("target", "load-reports");
+
+    public record EndpointResult(String name, long requests, long errors, double throughput,
+                                 double p50Millis, double p95Millis, double p99Millis) {
+
+        static EndpointResult of(String name, List<Long> latencies, long errors, double elapsedSeconds) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            return new EndpointResult(name, sorted.length, errors, sorted.length / elapsedSeconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99));
+        }
+
+        public double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+
+    public EndpointResult endpoint(String name) {
+        return endpoints.stream()
+                .filter(result -> result.name().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%s: concurrency=%d, duration=%.1fs%n", title, concurrency, elapsedSeconds));
+        report.append(String.format("%-28s %10s %8s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms"));
+        for (EndpointResult result : endpoints) {
+            report.append(String.format("%-28s %10d %7.2f%% %10.1f %10.2f %10.2f %10.2f%n",
+                    result.name(), result.requests(), result.errorRate() * 100, result.throughput(),
+                    result.p50Millis(), result.p95Millis(), result.p99Millis()));
+        }
+        return report.toString();
+    }
+
+    // Отчеты складываются в target/load-reports, чтобы сравнивать прогоны между собой
+    public Path write(String fileName) throws IOException {
+        Files.createDirectories(REPORT_DIRECTORY);
+        Path file = REPORT_DIRECTORY.resolve(fileName);
+        Files.writeString(file, format());
+        return file;
+    }
+}
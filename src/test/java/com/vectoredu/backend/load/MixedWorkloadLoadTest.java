@@ -0,0 +1,48 @@
+package com.vectoredu.backend.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Типичные смеси запросов: чтение списков задач, вход и комментарии.
+// Допустимая доля ошибок по каждому эндпоинту задается -Dload.max-error-rate
+public class MixedWorkloadLoadTest extends AbstractLoadTest {
+
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+
+    @Test
+    public void testReadHeavyMix() throws Exception {
+        LoadReport report = run("read-heavy", List.of(
+                userTasks(60),
+                adminTasks(20),
+                userComment(10),
+                adminComment(5),
+                login(5)
+        ), concurrency(32));
+
+        assertWithinBudget(report);
+    }
+
+    @Test
+    public void testWriteHeavyMix() throws Exception {
+        LoadReport report = run("write-heavy", List.of(
+                userTasks(30),
+                adminTasks(10),
+                userComment(30),
+                adminComment(20),
+                login(10)
+        ), concurrency(32));
+
+        assertWithinBudget(report);
+    }
+
+    private static void assertWithinBudget(LoadReport report) {
+        for (LoadReport.EndpointResult endpoint : report.endpoints()) {
+            assertTrue(endpoint.requests() > 0, endpoint.name() + ": нет ни одного запроса");
+            assertTrue(endpoint.errorRate() <= MAX_ERROR_RATE,
+                    endpoint.name() + ": доля ошибок " + endpoint.errorRate());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.vectoredu.backend.load;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+public class PlatformThreadsLoadTest extends AbstractThreadingLoadTest {
+
+    @Override
+    protected String mode() {
+        return "platform-threads";
+    }
+}
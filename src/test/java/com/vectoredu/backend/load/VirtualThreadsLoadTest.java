@@ -0,0 +1,16 @@
+package com.vectoredu.backend.load;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.ActiveProfiles;
+
+// Виртуальные потоки Spring Boot включает только на Java 21+, на более старой JVM сравнение не имеет смысла
+@EnabledForJreRange(min = JRE.JAVA_21)
+@ActiveProfiles("virtual-threads")
+public class VirtualThreadsLoadTest extends AbstractThreadingLoadTest {
+
+    @Override
+    protected String mode() {
+        return "virtual-threads";
+    }
+}
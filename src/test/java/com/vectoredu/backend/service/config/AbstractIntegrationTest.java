@@ -1,7 +1,17 @@
 package com.vectoredu.backend.service.config;
 
 
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.model.enums.Role;
+import com.vectoredu.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.TestPropertySource;
@@ -11,8 +21,11 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 
 @Testcontainers
-@TestPropertySource(properties = "spring.liquibase.enabled=true")
+// Диспетчер outbox, очистка и обновление индекса подсказок по расписанию фактически не срабатывают: тесты вызывают их явно
+@TestPropertySource(properties = {"spring.liquibase.enabled=true", "mail.outbox.poll-interval=1h", "reaper.interval=1h",
+        "task-suggest.refresh-interval=1h"})
 @SpringBootTest
+@Import(StatementCountingConfiguration.class)
 public abstract class AbstractIntegrationTest {
 
     // Define a static PostgreSQLContainer to ensure it's shared across all tests
@@ -29,11 +42,59 @@ public abstract class AbstractIntegrationTest {
         }
     }
 
+    // Локальный SMTP-сервер вместо внешнего почтового сервиса, общий для всех тестов
+    public static GreenMail greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+
+    static {
+        greenMail.setUser("support@example.com", "support@example.com", "secret");
+        greenMail.start();
+    }
+
     // Dynamically set Spring properties to use the TestContainer's JDBC URL, username, and password
     @DynamicPropertySource
     static void configureProperties(DynamicPropertyRegistry registry) {
         registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
         registry.add("spring.datasource.username", postgresContainer::getUsername);
         registry.add("spring.datasource.password", postgresContainer::getPassword);
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", () -> greenMail.getSmtp().getPort());
+        registry.add("spring.mail.username", () -> "support@example.com");
+        registry.add("spring.mail.password", () -> "secret");
+    }
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Тесты чистят таблицы напрямую через JDBC, поэтому кэши приложения сбрасываются перед каждым тестом
+    @BeforeEach
+    public void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    // Подтвержденный пользователь с заданной ролью; повторный вызов с тем же email возвращает существующего
+    protected User saveUser(String email, Role role) {
+        return userRepository.findByEmail(email)
+                .orElseGet(() -> userRepository.save(User.builder()
+                        .firstName("Test")
+                        .lastName("User")
+                        .email(email)
+                        .password("encoded")
+                        .role(role)
+                        .enabled(true)
+                        .build()));
+    }
+
+    // Удаление в порядке внешних ключей: комментарии, задачи, токены сброса пароля, пользователи
+    protected void clearTables() {
+        jdbcTemplate.execute("DELETE FROM comments;");
+        jdbcTemplate.execute("DELETE FROM tasks;");
+        jdbcTemplate.execute("DELETE FROM reset_password;");
+        jdbcTemplate.execute("DELETE FROM users;");
     }
 }
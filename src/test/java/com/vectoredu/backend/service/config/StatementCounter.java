@@ -0,0 +1,63 @@
+package com.vectoredu.backend.service.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Записывает SQL-запросы, выполненные в текущем потоке. MockMvc обрабатывает запрос в потоке теста,
+// поэтому все обращения к базе одного perform(...) попадают в счетчик, а фоновые задачи — нет
+public class StatementCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<List<List<QueryInfo>>> STATEMENTS = new ThreadLocal<>();
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    // Один вызов JDBC (в том числе пакетный) — одно обращение к базе
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<List<QueryInfo>> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(List.copyOf(queryInfoList));
+        }
+    }
+
+    public static List<String> record(Action action) throws Exception {
+        return recordQueries(action).stream()
+                .map(queries -> queries.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")))
+                .toList();
+    }
+
+    // Запросы вместе с привязанными параметрами, например для EXPLAIN того же SQL, что выполнило приложение
+    public static List<List<QueryInfo>> recordQueries(Action action) throws Exception {
+        List<List<QueryInfo>> statements = new ArrayList<>();
+        STATEMENTS.set(statements);
+        try {
+            action.run();
+        } finally {
+            STATEMENTS.remove();
+        }
+        return statements;
+    }
+
+    // Падает, если действие обратилось к базе больше budget раз; в сообщении перечислены все запросы
+    public static void assertStatementBudget(int budget, Action action) throws Exception {
+        List<String> statements = record(action);
+        if (statements.size() > budget) {
+            fail("Ожидалось не более " + budget + " SQL-запросов, выполнено " + statements.size() + ":\n"
+                    + String.join("\n", statements));
+        }
+    }
+}
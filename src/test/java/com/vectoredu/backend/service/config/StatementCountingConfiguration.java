@@ -0,0 +1,30 @@
+package com.vectoredu.backend.service.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+// Оборачивает DataSource приложения прокси datasource-proxy, который передает запросы в StatementCounter
+@TestConfiguration(proxyBeanMethods = false)
+public class StatementCountingConfiguration {
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new StatementCounter())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,9 +1,19 @@
 package com.vectoredu.backend.service.integration;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.vectoredu.backend.config.CacheConfiguration;
+import com.vectoredu.backend.model.Comment;
+import com.vectoredu.backend.model.Task;
 import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.model.enums.Priority;
 import com.vectoredu.backend.model.enums.Role;
+import com.vectoredu.backend.model.enums.Status;
+import com.vectoredu.backend.repository.CommentRepository;
+import com.vectoredu.backend.repository.TaskRepository;
 import com.vectoredu.backend.repository.UserRepository;
 import com.vectoredu.backend.service.JwtService;
+import com.vectoredu.backend.service.TaskSuggestService;
+import com.vectoredu.backend.service.UserCacheService;
 import com.vectoredu.backend.service.config.AbstractIntegrationTest;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.PostConstruct;
@@ -12,20 +22,31 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 import org.testcontainers.shaded.com.fasterxml.jackson.databind.JsonNode;
 import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
+import static com.vectoredu.backend.service.config.StatementCounter.assertStatementBudget;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -42,12 +63,27 @@ public class AdminControllerTest extends AbstractIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private UserCacheService userCacheService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TaskSuggestService taskSuggestService;
+
     private String adminToken;
 
     @BeforeEach
@@ -136,6 +172,113 @@ public class AdminControllerTest extends AbstractIntegrationTest {
                 .andExpect(jsonPath("$.content[0].title").value("Task 1"));
     }
 
+    @Test
+    public void testGetAllTasksByCursor() throws Exception {
+        // Создание трех задач
+        for (int i = 1; i <= 3; i++) {
+            String taskJson = String.format("""
+            {
+                "title": "Task %d",
+                "description": "Task description",
+                "priority": "HIGH",
+                "assigneeEmail": "assignee@example.com"
+            }
+            """, i);
+            mockMvc.perform(post("/admin/tasks")
+                            .header("Authorization", "Bearer " + adminToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(taskJson))
+                    .andExpect(status().isOk());
+        }
+
+        // Первая страница: новые задачи идут первыми
+        MvcResult firstPage = mockMvc.perform(get("/admin/tasks/cursor")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].title").value("Task 3"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString())
+                .get("nextCursor").asText();
+
+        // Вторая страница по курсору
+        mockMvc.perform(get("/admin/tasks/cursor")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("cursor", nextCursor)
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Task 1"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    public void testGetAllTasksSlice() throws Exception {
+        // Создание задачи
+        String taskJson = """
+        {
+            "title": "Task 1",
+            "description": "Task description",
+            "priority": "HIGH",
+            "assigneeEmail": "assignee@example.com"
+        }
+        """;
+        mockMvc.perform(post("/admin/tasks")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(taskJson))
+                .andExpect(status().isOk());
+
+        // Получение среза с приблизительным количеством
+        mockMvc.perform(get("/admin/tasks/slice")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("page", "0")
+                        .param("size", "10")
+                        .param("withTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.approximateTotal").isNumber());
+    }
+
+    @Test
+    public void testRevokedTokenIsRejected() throws Exception {
+        mockMvc.perform(get("/admin/tasks")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        // Увеличение версии токенов отзывает ранее выданные токены
+        User admin = userRepository.findByEmail("admin@example.com").orElseThrow();
+        jdbcTemplate.update("UPDATE users SET token_version = token_version + 1 WHERE id = ?", admin.getId());
+        userCacheService.evict(admin);
+
+        mockMvc.perform(get("/admin/tasks")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void testCachedTokenIsRejectedAfterTokenVersionBump() throws Exception {
+        mockMvc.perform(get("/admin/tasks")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        User admin = userRepository.findByEmail("admin@example.com").orElseThrow();
+        jdbcTemplate.update("UPDATE users SET token_version = token_version + 1 WHERE id = ?", admin.getId());
+        userCacheService.evict(admin);
+        long hitsBefore = verifiedTokens().stats().hitCount();
+
+        // Подпись повторно не проверяется, токен берется из кэша, но отзыв все равно сверяется с версией пользователя
+        mockMvc.perform(get("/admin/tasks")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isForbidden());
+        assertEquals(1, verifiedTokens().stats().hitCount() - hitsBefore);
+    }
+
     @Test
     public void testUpdateTask() throws Exception {
         // Создание задачи
@@ -249,6 +392,452 @@ public class AdminControllerTest extends AbstractIntegrationTest {
                 .andExpect(jsonPath("$.text").value("This is a comment"));
     }
 
+    // Бюджеты SQL-запросов на один HTTP-запрос в установившемся режиме (кэш версий токенов прогрет).
+    // Превышение означает N+1 или лишние обращения к базе
+    @Test
+    public void testGetAllTasksStatementBudget() throws Exception {
+        saveTasksWithComments(60);
+        performGetAllTasks(50);
+
+        // Страница, count и комментарии одной пачкой
+        assertStatementBudget(3, () -> performGetAllTasks(50));
+    }
+
+    @Test
+    public void testGetTaskByIdStatementBudget() throws Exception {
+        Long taskId = saveTasksWithComments(1);
+        performGetAllTasks(1);
+
+        // Задача, исполнитель и комментарии
+        assertStatementBudget(3, () -> mockMvc.perform(get("/admin/tasks/{id}", taskId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments.length()").value(2)));
+    }
+
+    @Test
+    public void testCreateTaskStatementBudget() throws Exception {
+        performGetAllTasks(0);
+        String json = """
+        {
+            "title": "Task 1",
+            "description": "Task description",
+            "priority": "HIGH",
+            "assigneeEmail": "assignee@example.com"
+        }
+        """;
+
+        // Исполнитель по email и вставка задачи; автор берется из кэша пользователей.
+        // Раз в 50 вставок добавляется выборка следующего диапазона идентификаторов
+        assertStatementBudget(3, () -> mockMvc.perform(post("/admin/tasks")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    public void testAddCommentStatementBudget() throws Exception {
+        Long taskId = saveTasksWithComments(1);
+        performGetAllTasks(1);
+
+        // Задача, вставка комментария и при необходимости новый диапазон идентификаторов
+        assertStatementBudget(3, () -> mockMvc.perform(post("/admin/tasks/{taskId}/comments", taskId)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("Комментарий"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    public void testBulkCreateTasks() throws Exception {
+        String json = """
+        [
+            {"title": "Task 1", "description": "Description 1", "priority": "HIGH", "assigneeEmail": "assignee@example.com"},
+            {"title": "", "description": "Description 2", "priority": "LOW", "assigneeEmail": "assignee@example.com"},
+            {"title": "Task 3", "description": "Description 3", "priority": "LOW", "assigneeEmail": "unknown@example.com"},
+            {"title": "Task 4", "description": "Description 4", "priority": "MEDIUM", "assigneeEmail": "assignee@example.com"}
+        ]
+        """;
+
+        mockMvc.perform(post("/admin/tasks/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.results[0].task.title").value("Task 1"))
+                .andExpect(jsonPath("$.results[1].error").value("Название задачи не может быть пустым"))
+                .andExpect(jsonPath("$.results[2].error").value("Исполнитель не найден"))
+                .andExpect(jsonPath("$.results[3].task.id").isNumber());
+
+        performGetAllTasks(2);
+    }
+
+    @Test
+    public void testBulkCreateTasksStatementBudget() throws Exception {
+        performGetAllTasks(0);
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) {
+            json.append(i == 0 ? "" : ",").append("""
+                {"title": "Task %d", "description": "Description", "priority": "HIGH", "assigneeEmail": "assignee@example.com"}
+                """.formatted(i));
+        }
+        json.append("]");
+
+        // Исполнители одним запросом, до трех диапазонов идентификаторов (остаток текущего и два новых)
+        // и вставка двумя пакетами по 50
+        assertStatementBudget(6, () -> mockMvc.perform(post("/admin/tasks/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(100)));
+    }
+
+    @Test
+    public void testBulkReassignTasks() throws Exception {
+        saveTasksWithComments(5);
+        User successor = saveSuccessor();
+
+        String json = """
+        {
+            "selection": {"assigneeEmail": "assignee@example.com"},
+            "assigneeEmail": "successor@example.com",
+            "status": "IN_PROGRESS"
+        }
+        """;
+
+        mockMvc.perform(patch("/admin/tasks/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(5));
+
+        Integer moved = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM tasks WHERE assignee_id = ? AND status = 'IN_PROGRESS'",
+                Integer.class, successor.getId());
+        assertEquals(5, moved);
+    }
+
+    @Test
+    public void testBulkUpdateRequiresSelection() throws Exception {
+        mockMvc.perform(patch("/admin/tasks/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                        {"selection": {}, "status": "COMPLETED"}
+                        """))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Браузер отправляет PATCH с другого origin только после успешного preflight-запроса
+    @Test
+    public void testBulkUpdatePassesCorsPreflight() throws Exception {
+        mockMvc.perform(options("/admin/tasks/bulk")
+                        .header("Origin", "http://localhost:5173")
+                        .header("Access-Control-Request-Method", "PATCH")
+                        .header("Access-Control-Request-Headers", "Authorization, Content-Type"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Access-Control-Allow-Methods", containsString("PATCH")));
+    }
+
+    @Test
+    public void testBulkUpdateStatementBudget() throws Exception {
+        saveTasksWithComments(3);
+        performGetAllTasks(3);
+        // Идентификаторы из диапазонов последовательности не обязаны идти подряд
+        List<Long> taskIds = jdbcTemplate.queryForList("SELECT id FROM tasks ORDER BY id DESC LIMIT 2", Long.class);
+
+        // Один UPDATE независимо от числа задач
+        assertStatementBudget(1, () -> mockMvc.perform(patch("/admin/tasks/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                        {"selection": {"taskIds": [%d, %d]}, "priority": "LOW"}
+                        """.formatted(taskIds.get(0), taskIds.get(1))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2)));
+    }
+
+    @Test
+    public void testBulkDeleteTasksWithComments() throws Exception {
+        saveTasksWithComments(4);
+
+        mockMvc.perform(post("/admin/tasks/bulk/delete")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                        {"assigneeEmail": "assignee@example.com", "status": "PENDING"}
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(4));
+
+        // Комментарии удалены каскадом внешнего ключа
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM tasks", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM comments", Integer.class));
+    }
+
+    @Test
+    public void testBulkDeleteRequiresSelection() throws Exception {
+        mockMvc.perform(post("/admin/tasks/bulk/delete")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testDeleteTaskStatementBudget() throws Exception {
+        Long taskId = saveTasksWithComments(1);
+        performGetAllTasks(1);
+
+        // DELETE ... RETURNING без предварительной загрузки задачи и комментариев
+        assertStatementBudget(1, () -> mockMvc.perform(delete("/admin/tasks/{taskId}", taskId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Task 0")));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM comments", Integer.class));
+    }
+
+    @Test
+    public void testBulkDeleteStatementBudget() throws Exception {
+        saveTasksWithComments(3);
+        performGetAllTasks(3);
+        List<Long> taskIds = jdbcTemplate.queryForList("SELECT id FROM tasks ORDER BY id DESC LIMIT 2", Long.class);
+
+        assertStatementBudget(1, () -> mockMvc.perform(post("/admin/tasks/bulk/delete")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                        {"taskIds": [%d, %d]}
+                        """.formatted(taskIds.get(0), taskIds.get(1))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2)));
+    }
+
+    @Test
+    public void testSearchTasksRankedWithSnippets() throws Exception {
+        Task inTitle = saveTask("Миграция базы данных", "Перенести таблицы на новый сервер");
+        Task inDescription = saveTask("Обновить документацию", "Описать миграцию схемы");
+        Task inComment = saveTask("Починить вход", "Пользователи не могут войти");
+        saveTask("Настроить почту", "Проверить SMTP");
+        User admin = userRepository.findByEmail("admin@example.com").orElseThrow();
+        commentRepository.save(Comment.builder().task(inComment).author(admin).text("Вход сломался после миграции").build());
+
+        // Совпадение в названии весит больше, чем в описании, а в описании — больше, чем в комментарии
+        mockMvc.perform(get("/admin/tasks/search")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("q", "миграция"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.content[0].id").value(inTitle.getId()))
+                .andExpect(jsonPath("$.content[1].id").value(inDescription.getId()))
+                .andExpect(jsonPath("$.content[2].id").value(inComment.getId()))
+                .andExpect(jsonPath("$.content[0].snippet").value(containsString("<mark>Миграция</mark>")))
+                .andExpect(jsonPath("$.content[2].snippet").value(containsString("<mark>миграции</mark>")))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        // Страницы по одной задаче проходят те же результаты в том же порядке
+        List<Long> scrolled = new ArrayList<>();
+        String cursor = null;
+        do {
+            MvcResult result = mockMvc.perform(get("/admin/tasks/search")
+                            .header("Authorization", "Bearer " + adminToken)
+                            .param("q", "миграция")
+                            .param("size", "1")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode page = new ObjectMapper().readTree(result.getResponse().getContentAsString());
+            page.get("content").forEach(task -> scrolled.add(task.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+        assertEquals(List.of(inTitle.getId(), inDescription.getId(), inComment.getId()), scrolled);
+    }
+
+    @Test
+    public void testSearchTasksRequiresQuery() throws Exception {
+        mockMvc.perform(get("/admin/tasks/search")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testSearchTasksStatementBudget() throws Exception {
+        saveTasksWithComments(3);
+        performGetAllTasks(3);
+
+        // Совпадения, ранжирование и подсветка — один запрос
+        assertStatementBudget(1, () -> mockMvc.perform(get("/admin/tasks/search")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("q", "comment"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3)));
+    }
+
+    @Test
+    public void testSuggestTasksFollowsCreateUpdateDelete() throws Exception {
+        MvcResult createResult = mockMvc.perform(post("/admin/tasks")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                        {
+                            "title": "Квазар: сбор телеметрии",
+                            "description": "Task description",
+                            "priority": "HIGH",
+                            "assigneeEmail": "assignee@example.com"
+                        }
+                        """))
+                .andExpect(status().isOk())
+                .andReturn();
+        long taskId = new ObjectMapper().readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+
+        performSuggest("кваз телем", 1)
+                .andExpect(jsonPath("$[0].id").value(taskId))
+                .andExpect(jsonPath("$[0].title").value("Квазар: сбор телеметрии"));
+
+        mockMvc.perform(put("/admin/tasks/{taskId}", taskId)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                        {"title": "Пульсар: сбор телеметрии"}
+                        """))
+                .andExpect(status().isOk());
+        performSuggest("квазар", 0);
+        performSuggest("пульс", 1).andExpect(jsonPath("$[0].id").value(taskId));
+
+        mockMvc.perform(delete("/admin/tasks/{taskId}", taskId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        performSuggest("пульс", 0);
+    }
+
+    // Коммиты других экземпляров (здесь — SQL в обход сервиса) попадают в подсказки при периодическом обновлении
+    @Test
+    public void testSuggestRefreshPicksUpChangesFromOtherInstances() throws Exception {
+        MvcResult createResult = mockMvc.perform(post("/admin/tasks")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                        {
+                            "title": "Квазар: сбор телеметрии",
+                            "description": "Task description",
+                            "priority": "HIGH",
+                            "assigneeEmail": "assignee@example.com"
+                        }
+                        """))
+                .andExpect(status().isOk())
+                .andReturn();
+        long taskId = new ObjectMapper().readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+        Long adminId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'admin@example.com'", Long.class);
+
+        jdbcTemplate.update("UPDATE tasks SET title = 'Пульсар: сбор телеметрии', updated_at = now() WHERE id = ?", taskId);
+        jdbcTemplate.update("""
+                INSERT INTO tasks (title, description, status, priority, author_id, assignee_id, created_at, updated_at)
+                VALUES ('Магнетар: калибровка', 'Task description', 'PENDING', 'LOW', ?, ?, now(), now())
+                """, adminId, adminId);
+        performSuggest("пульс", 0);
+        performSuggest("магнет", 0);
+
+        taskSuggestService.refresh();
+        performSuggest("квазар", 0);
+        performSuggest("пульс", 1).andExpect(jsonPath("$[0].id").value(taskId));
+        performSuggest("магнет", 1);
+
+        // Одна задача удалена и одна создана: число задач в индексе и в таблице совпадает
+        jdbcTemplate.update("DELETE FROM tasks WHERE id = ?", taskId);
+        jdbcTemplate.update("""
+                INSERT INTO tasks (title, description, status, priority, author_id, assignee_id, created_at, updated_at)
+                VALUES ('Блазар: наведение', 'Task description', 'PENDING', 'LOW', ?, ?, now(), now())
+                """, adminId, adminId);
+        taskSuggestService.refresh();
+        performSuggest("пульс", 0);
+        performSuggest("магнет", 1);
+        performSuggest("блазар", 1);
+    }
+
+    @Test
+    public void testSuggestTasksStatementBudget() throws Exception {
+        saveTasksWithComments(1);
+        performGetAllTasks(1);
+
+        // Подсказки отдаются из памяти без единого запроса к БД
+        assertStatementBudget(0, () -> mockMvc.perform(get("/admin/tasks/suggest")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("q", "task"))
+                .andExpect(status().isOk()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> verifiedTokens() {
+        return (Cache<Object, Object>) cacheManager.getCache(CacheConfiguration.VERIFIED_TOKENS).getNativeCache();
+    }
+
+    private ResultActions performSuggest(String query, int expectedSize) throws Exception {
+        return mockMvc.perform(get("/admin/tasks/suggest")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("q", query))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(expectedSize));
+    }
+
+    private void performGetAllTasks(int expectedSize) throws Exception {
+        mockMvc.perform(get("/admin/tasks")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("page", "0")
+                        .param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(expectedSize));
+    }
+
+    private User saveSuccessor() {
+        return userRepository.save(User.builder()
+                .firstName("Successor")
+                .lastName("User")
+                .email("successor@example.com")
+                .password(passwordEncoder.encode("Password123"))
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+    }
+
+    private Task saveTask(String title, String description) {
+        return taskRepository.save(Task.builder()
+                .title(title)
+                .description(description)
+                .priority(Priority.MEDIUM)
+                .status(Status.PENDING)
+                .author(userRepository.findByEmail("admin@example.com").orElseThrow())
+                .assignee(userRepository.findByEmail("assignee@example.com").orElseThrow())
+                .build());
+    }
+
+    // Возвращает идентификатор последней созданной задачи
+    private Long saveTasksWithComments(int count) {
+        User admin = userRepository.findByEmail("admin@example.com").orElseThrow();
+        User assignee = userRepository.findByEmail("assignee@example.com").orElseThrow();
+
+        Long lastId = null;
+        for (int i = 0; i < count; i++) {
+            Task task = taskRepository.save(Task.builder()
+                    .title("Task " + i)
+                    .description("Task description " + i)
+                    .priority(Priority.MEDIUM)
+                    .status(Status.PENDING)
+                    .author(admin)
+                    .assignee(assignee)
+                    .build());
+            commentRepository.save(Comment.builder().task(task).author(admin).text("First comment").build());
+            commentRepository.save(Comment.builder().task(task).author(assignee).text("Second comment").build());
+            lastId = task.getId();
+        }
+        return lastId;
+    }
+
     @PostConstruct
     public void createAdminIfNotExists() {
         Optional<User> adminOptional = userRepository.findByEmail("admin@example.com");
@@ -1,6 +1,7 @@
 package com.vectoredu.backend.service.integration;
 
 import com.jayway.jsonpath.JsonPath;
+import com.vectoredu.backend.service.UserCacheService;
 import com.vectoredu.backend.service.config.AbstractIntegrationTest;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.junit.jupiter.api.*;
@@ -8,9 +9,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import static com.vectoredu.backend.service.config.StatementCounter.assertStatementBudget;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -26,6 +31,9 @@ public class AuthenticationControllerTest extends AbstractIntegrationTest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private UserCacheService userCacheService;
+
     @AfterEach
     public void clearDatabase() {
         jdbcTemplate.execute("""
@@ -242,6 +250,21 @@ public class AuthenticationControllerTest extends AbstractIntegrationTest {
                         .content(refreshJson))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isString());
+
+        // Токены не взаимозаменяемы: refresh-токен не аутентифицирует запрос, токен доступа не обновляется
+        mockMvc.perform(get("/user/tasks")
+                        .header("Authorization", "Bearer " + refreshToken))
+                .andExpect(status().isForbidden());
+
+        String accessToken = JsonPath.read(loginResult.getResponse().getContentAsString(), "$.token");
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                            {
+                                "token": "%s"
+                            }
+                        """, accessToken)))
+                .andExpect(status().isUnauthorized());
     }
 
     @Test
@@ -285,6 +308,38 @@ public class AuthenticationControllerTest extends AbstractIntegrationTest {
                 .andExpect(jsonPath("$.message").value("Данные введены некорректно"));
     }
 
+    // Пароль сменили на другом экземпляре: здешний кэш пользователей его не видел и не сброшен,
+    // но вход проверяет пароль по базе
+    @Test
+    public void testOldPasswordRejectedAfterResetElsewhereWithWarmCache() throws Exception {
+        String email = "test@example.com";
+        jdbcTemplate.update("UPDATE users SET enabled = TRUE WHERE email = ?", email);
+        String cachedPassword = userCacheService.findByEmail(email).orElseThrow().getPassword();
+
+        jdbcTemplate.update("UPDATE users SET password = ?, token_version = token_version + 1 WHERE email = ?",
+                new BCryptPasswordEncoder().encode("NewPassword123"), email);
+        assertEquals(cachedPassword, userCacheService.findByEmail(email).orElseThrow().getPassword());
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {
+                                "email": "test@example.com",
+                                "password": "Password123"
+                            }
+                        """))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {
+                                "email": "test@example.com",
+                                "password": "NewPassword123"
+                            }
+                        """))
+                .andExpect(status().isOk());
+    }
+
     @Test
     public void testVerifyUserWithInvalidCode() throws Exception {
         String email = "test@example.com";
@@ -330,4 +385,93 @@ public class AuthenticationControllerTest extends AbstractIntegrationTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Неверный или истекший токен для восстановления пароля"));
     }
-}
\ No newline at end of file
+
+    // Бюджеты SQL-запросов на один HTTP-запрос; превышение означает лишние обращения к базе
+    @Test
+    public void testSignupStatementBudget() throws Exception {
+        String json = """
+            {
+                "email": "budget@example.com",
+                "password": "Password123",
+                "firstName": "Test",
+                "lastName": "User"
+            }
+        """;
+
+        // Проверка email, вставка пользователя и письма в outbox
+        assertStatementBudget(3, () -> mockMvc.perform(post("/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk()));
+    }
+
+    // Повторная регистрация до подтверждения перезаписывает пользователя, а не удаляет и создает заново
+    @Test
+    public void testRepeatedSignupStatementBudget() throws Exception {
+        String json = """
+            {
+                "email": "budget@example.com",
+                "password": "Password123",
+                "firstName": "Test",
+                "lastName": "%s"
+            }
+        """;
+        mockMvc.perform(post("/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.formatted("First")))
+                .andExpect(status().isOk());
+        String userIdSql = "SELECT id FROM users WHERE email = 'budget@example.com'";
+        Long userId = jdbcTemplate.queryForObject(userIdSql, Long.class);
+
+        // Проверка email, обновление пользователя и вставка письма в outbox
+        assertStatementBudget(3, () -> mockMvc.perform(post("/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.formatted("Second")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastName").value("Second")));
+        assertEquals(userId, jdbcTemplate.queryForObject(userIdSql, Long.class));
+    }
+
+    @Test
+    public void testLoginStatementBudget() throws Exception {
+        jdbcTemplate.update("UPDATE users SET enabled = true WHERE email = ?", "test@example.com");
+        String json = """
+            {
+                "email": "test@example.com",
+                "password": "Password123"
+            }
+        """;
+
+        // Пользователь читается провайдером аутентификации и сервисом входа
+        assertStatementBudget(2, () -> mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    public void testRefreshStatementBudget() throws Exception {
+        jdbcTemplate.update("UPDATE users SET enabled = true WHERE email = ?", "test@example.com");
+        MvcResult loginResult = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {
+                                "email": "test@example.com",
+                                "password": "Password123"
+                            }
+                        """))
+                .andExpect(status().isOk())
+                .andReturn();
+        String refreshToken = JsonPath.read(loginResult.getResponse().getContentAsString(), "$.refreshToken");
+
+        // Пользователь для проверки версии refresh-токена
+        assertStatementBudget(1, () -> mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                            {
+                                "token": "%s"
+                            }
+                        """, refreshToken)))
+                .andExpect(status().isOk()));
+    }
+}
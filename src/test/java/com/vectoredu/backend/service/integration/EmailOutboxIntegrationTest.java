@@ -0,0 +1,124 @@
+package com.vectoredu.backend.service.integration;
+
+import com.vectoredu.backend.model.EmailOutbox;
+import com.vectoredu.backend.model.enums.OutboxStatus;
+import com.vectoredu.backend.repository.EmailOutboxRepository;
+import com.vectoredu.backend.service.EmailOutboxDispatcher;
+import com.vectoredu.backend.service.config.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+public class EmailOutboxIntegrationTest extends AbstractIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxIntegrationTest.class);
+    private static final int SIGNUP_COUNT = 60;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        jdbcTemplate.execute("DELETE FROM email_outbox;");
+        greenMail.purgeEmailFromAllMailboxes();
+    }
+
+    @AfterEach
+    public void clearDatabase() {
+        jdbcTemplate.execute("DELETE FROM email_outbox;");
+        jdbcTemplate.execute("DELETE FROM reset_password;");
+        jdbcTemplate.execute("DELETE FROM users WHERE email LIKE 'outbox%';");
+    }
+
+    @Test
+    public void testSignupDoesNotWaitForSmtpAndDispatcherDeliversInBatches() throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < SIGNUP_COUNT; i++) {
+            mockMvc.perform(post("/auth/signup")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(signupJson("outbox" + i + "@example.com")))
+                    .andExpect(status().isOk());
+        }
+        double signupSeconds = (System.nanoTime() - start) / 1e9;
+
+        // Регистрация только пишет в outbox, SMTP на этом этапе не задействован
+        assertEquals(0, greenMail.getReceivedMessages().length);
+        assertEquals(SIGNUP_COUNT, emailOutboxRepository.count());
+
+        start = System.nanoTime();
+        emailOutboxDispatcher.dispatch();
+        double dispatchSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertTrue(greenMail.waitForIncomingEmail(10_000, SIGNUP_COUNT));
+        assertTrue(emailOutboxRepository.findAll().stream().allMatch(email -> email.getStatus() == OutboxStatus.SENT));
+
+        logger.info("Регистрации: {} за {} с ({} в секунду); отправка: {} писем за {} с",
+                SIGNUP_COUNT, String.format("%.2f", signupSeconds), String.format("%.1f", SIGNUP_COUNT / signupSeconds),
+                SIGNUP_COUNT, String.format("%.2f", dispatchSeconds));
+    }
+
+    @Test
+    public void testFailedMessageIsRetriedWithBackoffAndDeadLettered() {
+        // Некорректный адрес: письмо не собрать, попытка засчитывается как неудачная
+        EmailOutbox email = emailOutboxRepository.save(EmailOutbox.builder()
+                .recipient("not an address")
+                .subject("Subject")
+                .body("<p>Body</p>")
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+
+        emailOutboxDispatcher.dispatchBatch();
+
+        EmailOutbox retried = emailOutboxRepository.findById(email.getId()).orElseThrow();
+        assertEquals(OutboxStatus.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertNotNull(retried.getLastError());
+        assertTrue(retried.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        // Следующая попытка пока не наступила
+        assertEquals(0, emailOutboxDispatcher.dispatchBatch());
+
+        // Последняя разрешенная попытка
+        jdbcTemplate.update("UPDATE email_outbox SET attempts = 7, next_attempt_at = now() WHERE id = ?", email.getId());
+        emailOutboxDispatcher.dispatchBatch();
+
+        EmailOutbox dead = emailOutboxRepository.findById(email.getId()).orElseThrow();
+        assertEquals(OutboxStatus.DEAD, dead.getStatus());
+        assertEquals(8, dead.getAttempts());
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    private String signupJson(String email) {
+        return """
+            {
+                "email": "%s",
+                "password": "Password123",
+                "firstName": "Test",
+                "lastName": "User"
+            }
+        """.formatted(email);
+    }
+}
@@ -0,0 +1,153 @@
+package com.vectoredu.backend.service.integration;
+
+import com.vectoredu.backend.model.PasswordResetToken;
+import com.vectoredu.backend.model.Task;
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Role;
+import com.vectoredu.backend.model.enums.Status;
+import com.vectoredu.backend.repository.PasswordResetTokenRepository;
+import com.vectoredu.backend.repository.TaskRepository;
+import com.vectoredu.backend.repository.UserRepository;
+import com.vectoredu.backend.service.ExpiredAccountReaper;
+import com.vectoredu.backend.service.ExpiredAccountService;
+import com.vectoredu.backend.service.config.AbstractIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpiredAccountReaperIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ExpiredAccountReaper expiredAccountReaper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    public void clearDatabase() {
+        jdbcTemplate.execute("DELETE FROM comments;");
+        jdbcTemplate.execute("DELETE FROM tasks;");
+        jdbcTemplate.execute("DELETE FROM reset_password;");
+        jdbcTemplate.execute("DELETE FROM users WHERE email LIKE 'reaper%';");
+        jdbcTemplate.execute("DELETE FROM task_deletions WHERE task_id < 0;");
+    }
+
+    @Test
+    public void testReapsExpiredUsersAndResetTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        saveUser("reaper-expired@example.com", false, now.minusDays(8));
+        saveUser("reaper-grace@example.com", false, now.minusHours(1));
+        User assignee = saveUser("reaper-assignee@example.com", false, now.minusDays(8));
+        User verified = saveUser("reaper-verified@example.com", true, null);
+        User other = saveUser("reaper-other@example.com", true, null);
+        saveTask(verified, assignee);
+        passwordResetTokenRepository.save(new PasswordResetToken(verified, "expired-token", now.minusMinutes(1)));
+        passwordResetTokenRepository.save(new PasswordResetToken(other, "valid-token", now.plusMinutes(5)));
+
+        double usersBefore = reclaimed("users");
+        double tokensBefore = reclaimed("reset_password");
+
+        expiredAccountReaper.reap();
+
+        // Удален только пользователь без ссылок, у которого истек и льготный период
+        assertTrue(userRepository.findByEmail("reaper-expired@example.com").isEmpty());
+        assertTrue(userRepository.findByEmail("reaper-grace@example.com").isPresent());
+        assertTrue(userRepository.findByEmail("reaper-assignee@example.com").isPresent());
+        assertTrue(userRepository.findByEmail("reaper-verified@example.com").isPresent());
+        assertTrue(passwordResetTokenRepository.findByToken("expired-token").isEmpty());
+        assertTrue(passwordResetTokenRepository.findByToken("valid-token").isPresent());
+
+        assertEquals(1, reclaimed("users") - usersBefore);
+        assertEquals(1, reclaimed("reset_password") - tokensBefore);
+    }
+
+    @Test
+    public void testReapsOldTaskDeletions() {
+        jdbcTemplate.update("INSERT INTO task_deletions (task_id, deleted_at) VALUES (-1, ?)",
+                LocalDateTime.now().minusDays(2));
+        jdbcTemplate.update("INSERT INTO task_deletions (task_id) VALUES (-2)");
+        double deletionsBefore = reclaimed("task_deletions");
+
+        expiredAccountReaper.reap();
+
+        // Недавнее удаление еще нужно обновлению индекса подсказок на других экземплярах
+        assertEquals(List.of(-2L), jdbcTemplate.queryForList("SELECT task_id FROM task_deletions WHERE task_id < 0", Long.class));
+        assertEquals(1, reclaimed("task_deletions") - deletionsBefore);
+    }
+
+    @Test
+    public void testSkipsRunWhileAnotherInstanceHoldsLock() throws Exception {
+        saveUser("reaper-expired@example.com", false, LocalDateTime.now().minusDays(8));
+        double skippedBefore = meterRegistry.get("reaper.skipped").counter().count();
+
+        // Сессионная блокировка на отдельном соединении имитирует очистку на другом экземпляре
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SELECT pg_advisory_lock(" + ExpiredAccountService.REAPER_LOCK_KEY + ")");
+            try {
+                expiredAccountReaper.reap();
+            } finally {
+                statement.execute("SELECT pg_advisory_unlock(" + ExpiredAccountService.REAPER_LOCK_KEY + ")");
+            }
+        }
+
+        assertTrue(userRepository.findByEmail("reaper-expired@example.com").isPresent());
+        assertEquals(1, meterRegistry.get("reaper.skipped").counter().count() - skippedBefore);
+
+        expiredAccountReaper.reap();
+        assertTrue(userRepository.findByEmail("reaper-expired@example.com").isEmpty());
+    }
+
+    private double reclaimed(String table) {
+        return meterRegistry.get("reaper.reclaimed").tag("table", table).counter().count();
+    }
+
+    private User saveUser(String email, boolean enabled, LocalDateTime verificationExpiresAt) {
+        return userRepository.save(User.builder()
+                .firstName("Reaper")
+                .lastName("User")
+                .email(email)
+                .password("password")
+                .role(Role.USER)
+                .enabled(enabled)
+                .verificationCode(enabled ? null : "123456")
+                .verificationCodeExpiresAt(verificationExpiresAt)
+                .build());
+    }
+
+    private void saveTask(User author, User assignee) {
+        taskRepository.save(Task.builder()
+                .title("Reaper task")
+                .description("Reaper task description")
+                .priority(Priority.LOW)
+                .status(Status.PENDING)
+                .author(author)
+                .assignee(assignee)
+                .build());
+    }
+}
@@ -0,0 +1,72 @@
+package com.vectoredu.backend.service.integration;
+
+import com.vectoredu.backend.model.enums.Role;
+import com.vectoredu.backend.service.JwtService;
+import com.vectoredu.backend.service.config.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// В тестах экспорт метрик по умолчанию выключен, AutoConfigureObservability включает реестр Prometheus.
+// Отдельный порт actuator в MOCK-окружении не поднимается, поэтому MockMvc обращается к нему на основном
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@TestPropertySource(properties = "management.server.port=")
+public class MetricsEndpointTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String adminToken;
+    private String userToken;
+
+    @BeforeEach
+    public void setup() {
+        adminToken = jwtService.generateToken(saveUser("admin@example.com", Role.ADMIN));
+        userToken = jwtService.generateToken(saveUser("user@example.com", Role.USER));
+    }
+
+    @AfterEach
+    public void clearDatabase() {
+        clearTables();
+    }
+
+    @Test
+    public void testPrometheusScrapeExposesApplicationMetrics() throws Exception {
+        mockMvc.perform(get("/admin/tasks").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/user/tasks").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("uri=\"/admin/tasks\"")))
+                .andExpect(content().string(containsString("uri=\"/user/tasks\"")))
+                .andExpect(content().string(containsString("security_jwt_verify_seconds{")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")))
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("mail_send_seconds")));
+    }
+
+    @Test
+    public void testMetricsEndpointRequiresAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+    }
+}
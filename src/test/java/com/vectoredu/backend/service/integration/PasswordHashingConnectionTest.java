@@ -0,0 +1,141 @@
+package com.vectoredu.backend.service.integration;
+
+import com.vectoredu.backend.config.BoundedPasswordEncoder;
+import com.vectoredu.backend.service.config.AbstractIntegrationTest;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Запрос, ожидающий хэширования пароля, не держит соединение из пула: в момент вызова кодировщика
+// активных соединений Hikari нет
+@AutoConfigureMockMvc
+public class PasswordHashingConnectionTest extends AbstractIntegrationTest {
+
+    private static final String EMAIL = "hashing@example.com";
+    private static final String PASSWORD = "Password123";
+
+    @MockitoSpyBean
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final List<Integer> activeConnectionsWhileHashing = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        Answer<Object> recordActiveConnections = invocation -> {
+            activeConnectionsWhileHashing.add(pool.getActiveConnections());
+            return invocation.callRealMethod();
+        };
+        doAnswer(recordActiveConnections).when(passwordEncoder).encode(any());
+        doAnswer(recordActiveConnections).when(passwordEncoder).matches(any(), any());
+    }
+
+    @AfterEach
+    public void clearDatabase() {
+        jdbcTemplate.execute("""
+            DELETE FROM reset_password;
+            DELETE FROM users;
+        """);
+    }
+
+    @Test
+    public void testSignupHashesWithoutConnection() throws Exception {
+        mockMvc.perform(post("/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {
+                                "email": "%s",
+                                "password": "%s",
+                                "firstName": "Test",
+                                "lastName": "User"
+                            }
+                        """.formatted(EMAIL, PASSWORD)))
+                .andExpect(status().isOk());
+
+        assertHashedWithoutConnection();
+    }
+
+    @Test
+    public void testLoginHashesWithoutConnection() throws Exception {
+        insertEnabledUser();
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {
+                                "email": "%s",
+                                "password": "%s"
+                            }
+                        """.formatted(EMAIL, PASSWORD)))
+                .andExpect(status().isOk());
+
+        assertHashedWithoutConnection();
+    }
+
+    @Test
+    public void testResetPasswordHashesWithoutConnection() throws Exception {
+        insertEnabledUser();
+        mockMvc.perform(post("/auth/request-password-reset")
+                        .param("email", EMAIL))
+                .andExpect(status().isOk());
+        String token = jdbcTemplate.queryForObject("SELECT token FROM reset_password", String.class);
+
+        mockMvc.perform(patch("/auth/reset-password")
+                        .param("token", token)
+                        .param("newPassword", "NewPassword123"))
+                .andExpect(status().isOk());
+
+        assertHashedWithoutConnection();
+        // Токен одноразовый: повторная смена пароля по нему отклоняется
+        mockMvc.perform(patch("/auth/reset-password")
+                        .param("token", token)
+                        .param("newPassword", "OtherPassword123"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Провайдер аутентификации при первом входе еще и хэширует пароль-заглушку, поэтому проверяются все вызовы
+    private void assertHashedWithoutConnection() {
+        assertFalse(activeConnectionsWhileHashing.isEmpty());
+        assertTrue(activeConnectionsWhileHashing.stream().allMatch(active -> active == 0),
+                activeConnectionsWhileHashing::toString);
+    }
+
+    private void insertEnabledUser() {
+        jdbcTemplate.update("""
+            INSERT INTO users (first_name, last_name, email, password, enabled, role)
+            VALUES ('Test', 'User', ?, ?, true, 'USER')
+        """, EMAIL, new BCryptPasswordEncoder().encode(PASSWORD));
+    }
+}
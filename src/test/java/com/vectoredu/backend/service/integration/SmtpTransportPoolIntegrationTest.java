@@ -0,0 +1,81 @@
+package com.vectoredu.backend.service.integration;
+
+import com.vectoredu.backend.config.SmtpTransportPool;
+import com.vectoredu.backend.service.EmailService;
+import com.vectoredu.backend.service.config.AbstractIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SmtpTransportPoolIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private JavaMailSenderImpl javaMailSender;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        greenMail.purgeEmailFromAllMailboxes();
+    }
+
+    @Test
+    public void testBatchesReuseWarmConnection() throws Exception {
+        double openedBefore = meterRegistry.get("mail.transport.opened").counter().count();
+        long sentBefore = meterRegistry.get("mail.send").tag("result", "sent").timer().count();
+
+        Map<MimeMessage, Exception> firstFailures = emailService.sendAll(messages("first", 10));
+        Map<MimeMessage, Exception> secondFailures = emailService.sendAll(messages("second", 10));
+
+        assertTrue(firstFailures.isEmpty());
+        assertTrue(secondFailures.isEmpty());
+        assertTrue(greenMail.waitForIncomingEmail(5_000, 20));
+        // Обе пачки прошли через одно соединение: либо новое, либо уже прогретое предыдущими тестами
+        assertTrue(meterRegistry.get("mail.transport.opened").counter().count() - openedBefore <= 1);
+        assertEquals(20, meterRegistry.get("mail.send").tag("result", "sent").timer().count() - sentBefore);
+    }
+
+    @Test
+    public void testConcurrentConnectionsAreBoundedPerHost() throws Exception {
+        SmtpTransportPool pool = new SmtpTransportPool(javaMailSender.getSession(), javaMailSender.getHost(),
+                javaMailSender.getPort(), javaMailSender.getUsername(), javaMailSender.getPassword(),
+                2, Duration.ofMillis(200), Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+        Transport first = pool.borrow();
+        Transport second = pool.borrow();
+        assertThrows(MessagingException.class, pool::borrow);
+
+        // Возвращенное соединение выдается повторно без нового подключения
+        pool.release(first, false);
+        assertSame(first, pool.borrow());
+
+        pool.release(first, false);
+        pool.release(second, false);
+        pool.shutdown();
+    }
+
+    private List<MimeMessage> messages(String prefix, int count) throws MessagingException {
+        List<MimeMessage> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            messages.add(emailService.createMessage(prefix + i + "@example.com", "Subject " + i, "<p>Body</p>"));
+        }
+        return messages;
+    }
+}
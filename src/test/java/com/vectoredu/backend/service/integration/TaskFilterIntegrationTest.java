@@ -0,0 +1,239 @@
+package com.vectoredu.backend.service.integration;
+
+import com.vectoredu.backend.model.Task;
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Role;
+import com.vectoredu.backend.model.enums.Status;
+import com.vectoredu.backend.repository.TaskFilterCriteria;
+import com.vectoredu.backend.repository.TaskRepository;
+import com.vectoredu.backend.service.JwtService;
+import com.vectoredu.backend.service.config.AbstractIntegrationTest;
+import com.vectoredu.backend.service.config.StatementCounter;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static com.vectoredu.backend.service.config.StatementCounter.assertStatementBudget;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+public class TaskFilterIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int PLAN_USERS = 100;
+    private static final int PLAN_TASKS = 20_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private User admin;
+    private User alice;
+    private User bob;
+    private String adminToken;
+    private String bobToken;
+
+    @BeforeEach
+    public void setup() {
+        admin = saveUser("admin@example.com", Role.ADMIN);
+        alice = saveUser("alice@example.com", Role.USER);
+        bob = saveUser("bob@example.com", Role.USER);
+        adminToken = jwtService.generateToken(admin);
+        bobToken = jwtService.generateToken(bob);
+    }
+
+    @AfterEach
+    public void clearDatabase() {
+        clearTables();
+    }
+
+    @Test
+    public void testAdminFilterByStatusesAndPriorities() throws Exception {
+        Long first = saveTask(alice, Status.PENDING, Priority.HIGH);
+        saveTask(alice, Status.COMPLETED, Priority.HIGH);
+        saveTask(bob, Status.IN_PROGRESS, Priority.LOW);
+        Long second = saveTask(bob, Status.IN_PROGRESS, Priority.HIGH);
+
+        // Без сортировки в запросе — новые задачи первыми
+        mockMvc.perform(get("/admin/tasks")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("statuses", "PENDING,IN_PROGRESS")
+                        .param("priorities", "HIGH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[*].id").value(contains(second.intValue(), first.intValue())));
+    }
+
+    @Test
+    public void testAdminFilterByAssigneeAndCreatedRange() throws Exception {
+        Long old = saveTask(alice, Status.PENDING, Priority.MEDIUM);
+        Long recent = saveTask(alice, Status.PENDING, Priority.MEDIUM);
+        saveTask(bob, Status.PENDING, Priority.MEDIUM);
+        jdbcTemplate.update("UPDATE tasks SET created_at = ? WHERE id = ?", LocalDateTime.of(2024, 1, 10, 12, 0), old);
+        jdbcTemplate.update("UPDATE tasks SET created_at = ? WHERE id = ?", LocalDateTime.of(2024, 2, 10, 12, 0), recent);
+
+        mockMvc.perform(get("/admin/tasks")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("assigneeEmail", alice.getEmail())
+                        .param("createdFrom", "2024-02-01T00:00:00")
+                        .param("createdTo", "2024-03-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id").value(contains(recent.intValue())));
+    }
+
+    @Test
+    public void testAdminFilterRejectsInvalidInput() throws Exception {
+        mockMvc.perform(get("/admin/tasks")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("authorEmail", "nobody@example.com"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/admin/tasks")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("createdFrom", "2024-03-01T00:00:00")
+                        .param("createdTo", "2024-02-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testUserFilterIsScopedToCurrentUser() throws Exception {
+        saveTask(alice, Status.COMPLETED, Priority.HIGH);
+        saveTask(bob, Status.PENDING, Priority.HIGH);
+        Long completed = saveTask(bob, Status.COMPLETED, Priority.LOW);
+
+        // Чужой assigneeEmail не расширяет выборку за пределы задач текущего пользователя
+        mockMvc.perform(get("/user/tasks")
+                        .header("Authorization", "Bearer " + bobToken)
+                        .param("statuses", "COMPLETED")
+                        .param("assigneeEmail", alice.getEmail()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id").value(contains(completed.intValue())));
+    }
+
+    // Неполная страница: выборка и комментарии страницы, COUNT не нужен
+    @Test
+    public void testFilteredPageStatementBudget() throws Exception {
+        saveTask(alice, Status.PENDING, Priority.HIGH);
+        saveTask(bob, Status.PENDING, Priority.LOW);
+        // Прогрев: пользователи из токена и фильтра попадают в кэш
+        performFilteredListing();
+
+        assertStatementBudget(2, this::performFilteredListing);
+    }
+
+    @Test
+    public void testStatusFilterUsesStatusIndex() throws Exception {
+        seedPlanData();
+
+        String plan = explain(new TaskFilterCriteria(Set.of(Status.IN_PROGRESS), null, null, null, null, null));
+
+        assertTrue(plan.contains("idx_tasks_status_created_at_id"), plan);
+    }
+
+    @Test
+    public void testAssigneeStatusFilterUsesCompositeIndex() throws Exception {
+        Long assigneeId = seedPlanData();
+
+        String plan = explain(new TaskFilterCriteria(Set.of(Status.PENDING), null, null, assigneeId, null, null));
+
+        assertTrue(plan.contains("idx_tasks_assignee_status_created_at_id"), plan);
+    }
+
+    @Test
+    public void testOpenTasksByPriorityUsePartialIndex() throws Exception {
+        seedPlanData();
+
+        String plan = explain(new TaskFilterCriteria(Set.of(Status.PENDING, Status.IN_PROGRESS), Set.of(Priority.HIGH),
+                null, null, null, null));
+
+        assertTrue(plan.contains("idx_tasks_open_priority_created_at_id"), plan);
+    }
+
+    @Test
+    public void testCreatedRangeFilterUsesCreatedAtIndex() throws Exception {
+        seedPlanData();
+        LocalDateTime to = jdbcTemplate.queryForObject("SELECT max(created_at) FROM tasks", LocalDateTime.class);
+
+        String plan = explain(new TaskFilterCriteria(null, null, null, null, to.minusHours(1), to));
+
+        assertTrue(plan.contains("idx_tasks_created_at_id"), plan);
+    }
+
+    private void performFilteredListing() throws Exception {
+        mockMvc.perform(get("/admin/tasks")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("statuses", "PENDING")
+                        .param("authorEmail", admin.getEmail()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    // План того SQL, который сгенерировал Hibernate, с теми же значениями параметров
+    private String explain(TaskFilterCriteria criteria) throws Exception {
+        List<List<QueryInfo>> statements = StatementCounter.recordQueries(
+                () -> taskRepository.findViews(criteria, PageRequest.of(0, 20)));
+        QueryInfo select = statements.get(0).get(0);
+        Object[] parameters = select.getParametersList().get(0).stream()
+                .sorted(Comparator.comparing(operation -> (Integer) operation.getArgs()[0]))
+                .map(operation -> operation.getArgs()[1])
+                .toArray();
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + select.getQuery(), String.class, parameters));
+    }
+
+    // Задачи по минуте друг от друга: 80% завершены, 15% ожидают, 5% в работе; ANALYZE обновляет статистику
+    // планировщика. Возвращает идентификатор одного из исполнителей
+    private Long seedPlanData() {
+        jdbcTemplate.update("""
+                INSERT INTO users (first_name, last_name, email, password, enabled, role)
+                SELECT 'Plan', 'User', 'plan-user-' || g || '@example.com', 'encoded', true, 'USER'
+                FROM generate_series(1, ?) g
+                """, PLAN_USERS);
+        Long firstUserId = jdbcTemplate.queryForObject(
+                "SELECT min(id) FROM users WHERE email LIKE 'plan-user-%'", Long.class);
+        jdbcTemplate.update("""
+                INSERT INTO tasks (id, title, description, status, priority, author_id, assignee_id, created_at, updated_at)
+                SELECT nextval('tasks_seq'), 'Plan task ' || g, 'Plan description ' || g,
+                       CASE WHEN g % 20 = 0 THEN 'IN_PROGRESS' WHEN g % 20 < 4 THEN 'PENDING' ELSE 'COMPLETED' END,
+                       CASE g % 3 WHEN 0 THEN 'HIGH' WHEN 1 THEN 'MEDIUM' ELSE 'LOW' END,
+                       ?, ? + g % ?, now() - g * interval '1 minute', now()
+                FROM generate_series(1, ?) g
+                """, admin.getId(), firstUserId, PLAN_USERS, PLAN_TASKS);
+        jdbcTemplate.execute("ANALYZE tasks");
+        jdbcTemplate.execute("ANALYZE users");
+        return firstUserId;
+    }
+
+    private Long saveTask(User assignee, Status status, Priority priority) {
+        return taskRepository.save(Task.builder()
+                .title("Filter task")
+                .description("Filter task description")
+                .priority(priority)
+                .status(status)
+                .author(admin)
+                .assignee(assignee)
+                .build()).getId();
+    }
+}
@@ -0,0 +1,107 @@
+package com.vectoredu.backend.service.integration;
+
+import com.vectoredu.backend.model.Comment;
+import com.vectoredu.backend.model.Task;
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Role;
+import com.vectoredu.backend.model.enums.Status;
+import com.vectoredu.backend.repository.CommentRepository;
+import com.vectoredu.backend.repository.TaskRepository;
+import com.vectoredu.backend.service.JwtService;
+import com.vectoredu.backend.service.config.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.vectoredu.backend.service.config.StatementCounter.record;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+public class TaskListingQueryCountTest extends AbstractIntegrationTest {
+
+    private static final int TASK_COUNT = 60;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String adminToken;
+    private String assigneeToken;
+
+    @BeforeEach
+    public void setup() {
+        User admin = saveUser("admin@example.com", Role.ADMIN);
+        User assignee = saveUser("assignee@example.com", Role.USER);
+
+        for (int i = 0; i < TASK_COUNT; i++) {
+            Task task = taskRepository.save(Task.builder()
+                    .title("Task " + i)
+                    .description("Task description " + i)
+                    .priority(Priority.MEDIUM)
+                    .status(Status.PENDING)
+                    .author(admin)
+                    .assignee(assignee)
+                    .build());
+            commentRepository.save(Comment.builder().task(task).author(admin).text("First comment").build());
+            commentRepository.save(Comment.builder().task(task).author(assignee).text("Second comment").build());
+        }
+
+        adminToken = jwtService.generateToken(admin);
+        assigneeToken = jwtService.generateToken(assignee);
+    }
+
+    @AfterEach
+    public void clearDatabase() {
+        clearTables();
+    }
+
+    @Test
+    public void testAdminTaskPageStatementCountDoesNotGrowWithPageSize() throws Exception {
+        List<String> smallPage = recordStatements("/admin/tasks", adminToken, 5);
+        List<String> largePage = recordStatements("/admin/tasks", adminToken, 50);
+
+        assertEquals(smallPage.size(), largePage.size(), () -> String.join("\n", largePage));
+    }
+
+    @Test
+    public void testUserTaskPageStatementCountDoesNotGrowWithPageSize() throws Exception {
+        List<String> smallPage = recordStatements("/user/tasks", assigneeToken, 5);
+        List<String> largePage = recordStatements("/user/tasks", assigneeToken, 50);
+
+        assertEquals(smallPage.size(), largePage.size(), () -> String.join("\n", largePage));
+    }
+
+    private List<String> recordStatements(String url, String token, int size) throws Exception {
+        // Прогревочный запрос: пользователь из токена попадает в кэш, дальше измеряется установившийся режим
+        performListing(url, token, size);
+
+        return record(() -> performListing(url, token, size));
+    }
+
+    private void performListing(String url, String token, int size) throws Exception {
+        mockMvc.perform(get(url)
+                        .header("Authorization", "Bearer " + token)
+                        .param("page", "0")
+                        .param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(size))
+                .andExpect(jsonPath("$.content[0].comments.length()").value(2));
+    }
+}
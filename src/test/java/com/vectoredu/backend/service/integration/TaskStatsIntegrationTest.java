@@ -0,0 +1,174 @@
+package com.vectoredu.backend.service.integration;
+
+import com.vectoredu.backend.model.Task;
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.model.enums.Priority;
+import com.vectoredu.backend.model.enums.Role;
+import com.vectoredu.backend.model.enums.Status;
+import com.vectoredu.backend.repository.TaskCriteria;
+import com.vectoredu.backend.repository.TaskRepository;
+import com.vectoredu.backend.service.JwtService;
+import com.vectoredu.backend.service.config.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.vectoredu.backend.service.config.StatementCounter.assertStatementBudget;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+public class TaskStatsIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String COUNTERS_SQL = """
+            SELECT assignee_id, status, priority, task_count FROM task_stats
+            WHERE task_count > 0 ORDER BY assignee_id, status, priority
+            """;
+    private static final String ACTUAL_SQL = """
+            SELECT assignee_id, status, priority, count(*) AS task_count FROM tasks
+            GROUP BY assignee_id, status, priority ORDER BY assignee_id, status, priority
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private User admin;
+    private User alice;
+    private User bob;
+    private String adminToken;
+
+    @BeforeEach
+    public void setup() {
+        admin = saveUser("admin@example.com", Role.ADMIN);
+        alice = saveUser("alice@example.com", Role.USER);
+        bob = saveUser("bob@example.com", Role.USER);
+        adminToken = jwtService.generateToken(admin);
+    }
+
+    @AfterEach
+    public void clearDatabase() {
+        clearTables();
+    }
+
+    // Счетчики сверяются с GROUP BY по tasks после каждого пути записи: вставки пакетом, правки сущности,
+    // массового UPDATE, DELETE ... RETURNING и массового DELETE
+    @Test
+    public void testCountersFollowEveryWritePath() {
+        List<Task> tasks = taskRepository.saveAll(List.of(
+                task(alice, Status.PENDING, Priority.HIGH),
+                task(alice, Status.PENDING, Priority.HIGH),
+                task(alice, Status.IN_PROGRESS, Priority.LOW),
+                task(bob, Status.PENDING, Priority.MEDIUM),
+                task(bob, Status.COMPLETED, Priority.HIGH)));
+        assertCountersMatchTasks();
+
+        Task first = tasks.get(0);
+        first.setStatus(Status.COMPLETED);
+        first.setTitle("Renamed task");
+        taskRepository.save(first);
+        assertCountersMatchTasks();
+
+        transactionTemplate.executeWithoutResult(status -> taskRepository.updateMatching(
+                new TaskCriteria(null, null, alice.getId(), Status.PENDING), Status.IN_PROGRESS, null, bob));
+        assertCountersMatchTasks();
+
+        transactionTemplate.executeWithoutResult(status -> taskRepository.deleteReturning(tasks.get(2).getId()));
+        assertCountersMatchTasks();
+
+        transactionTemplate.executeWithoutResult(status -> taskRepository.deleteMatching(
+                new TaskCriteria(null, null, bob.getId(), null)));
+        assertCountersMatchTasks();
+    }
+
+    @Test
+    public void testStatsEndpoint() throws Exception {
+        taskRepository.saveAll(List.of(
+                task(alice, Status.PENDING, Priority.HIGH),
+                task(alice, Status.COMPLETED, Priority.HIGH),
+                task(bob, Status.IN_PROGRESS, Priority.LOW)));
+
+        mockMvc.perform(get("/admin/tasks/stats")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byStatus.PENDING").value(1))
+                .andExpect(jsonPath("$.byStatus.IN_PROGRESS").value(1))
+                .andExpect(jsonPath("$.byStatus.COMPLETED").value(1))
+                .andExpect(jsonPath("$.byPriority.HIGH").value(2))
+                .andExpect(jsonPath("$.byPriority.MEDIUM").value(0))
+                .andExpect(jsonPath("$.assignees.length()").value(2))
+                .andExpect(jsonPath("$.assignees[0].assigneeEmail").value(alice.getEmail()))
+                .andExpect(jsonPath("$.assignees[0].total").value(2));
+
+        mockMvc.perform(get("/admin/tasks/stats")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("assigneeEmail", bob.getEmail()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.byPriority.LOW").value(1))
+                .andExpect(jsonPath("$.assignees.length()").value(1));
+
+        mockMvc.perform(get("/admin/tasks/stats")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("assigneeEmail", "nobody@example.com"))
+                .andExpect(status().isNotFound());
+    }
+
+    // Одно чтение task_stats независимо от числа задач
+    @Test
+    public void testStatsStatementBudget() throws Exception {
+        taskRepository.saveAll(List.of(
+                task(alice, Status.PENDING, Priority.HIGH),
+                task(bob, Status.PENDING, Priority.HIGH)));
+        // Прогрев: пользователь из токена попадает в кэш
+        performStats();
+
+        assertStatementBudget(1, this::performStats);
+    }
+
+    private void performStats() throws Exception {
+        mockMvc.perform(get("/admin/tasks/stats")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2));
+    }
+
+    private void assertCountersMatchTasks() {
+        List<Map<String, Object>> actual = jdbcTemplate.queryForList(ACTUAL_SQL);
+        List<Map<String, Object>> counters = jdbcTemplate.queryForList(COUNTERS_SQL);
+        assertEquals(actual, counters);
+    }
+
+    private Task task(User assignee, Status status, Priority priority) {
+        return Task.builder()
+                .title("Stats task")
+                .description("Stats task description")
+                .priority(priority)
+                .status(status)
+                .author(admin)
+                .assignee(assignee)
+                .build();
+    }
+}
@@ -6,14 +6,14 @@ import com.vectoredu.backend.dto.request.authenticationRequestDto.VerifyUserDto;
 import com.vectoredu.backend.model.User;
 import com.vectoredu.backend.repository.UserRepository;
 import com.vectoredu.backend.service.AuthenticationService;
-import com.vectoredu.backend.service.EmailService;
+import com.vectoredu.backend.service.EmailOutboxService;
 import com.vectoredu.backend.service.PasswordService;
+import com.vectoredu.backend.service.UserCacheService;
 import com.vectoredu.backend.util.exception.NotFoundException;
 import com.vectoredu.backend.util.exception.ValidationException;
 import com.vectoredu.backend.util.exception.VerificationException;
 import com.vectoredu.backend.util.validators.EmailValidator;
 import com.vectoredu.backend.util.validators.PasswordValidator;
-import jakarta.mail.MessagingException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -21,6 +21,8 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -40,7 +42,7 @@ class AuthenticationServiceTest {
     private AuthenticationManager authenticationManager;
 
     @Mock
-    private EmailService emailService;
+    private EmailOutboxService emailOutboxService;
 
     @Mock
     private EmailValidator emailValidator;
@@ -51,12 +53,20 @@ class AuthenticationServiceTest {
     @Mock
     private PasswordService passwordService;
 
+    @Mock
+    private UserCacheService userCacheService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private AuthenticationService authenticationService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
@@ -160,7 +170,7 @@ class AuthenticationServiceTest {
     }
 
     @Test
-    void resendVerificationCode_ShouldSendNewCode_WhenUserIsNotVerified() throws MessagingException {
+    void resendVerificationCode_ShouldSendNewCode_WhenUserIsNotVerified() {
         String email = "email@example.com";
         User user = new User();
         user.setEmail(email);
@@ -172,6 +182,6 @@ class AuthenticationServiceTest {
         authenticationService.resendVerificationCode(email);
 
         verify(userRepository).save(any(User.class));
-        verify(emailService).sendVerificationEmail(any(), any(), any());
+        verify(emailOutboxService).enqueue(any(), any(), any());
     }
 }
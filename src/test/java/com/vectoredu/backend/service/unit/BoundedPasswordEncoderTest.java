@@ -0,0 +1,97 @@
+package com.vectoredu.backend.service.unit;
+
+import com.vectoredu.backend.config.BoundedPasswordEncoder;
+import com.vectoredu.backend.util.exception.OverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    public void setUp() {
+        // Один поток и очередь на одну задачу; хэширование висит, пока тест его не отпустит
+        PasswordEncoder slowEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                awaitRelease();
+                return "encoded:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                awaitRelease();
+                return encodedPassword.equals("encoded:" + rawPassword);
+            }
+        };
+        encoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, Duration.ofSeconds(5), 2, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    public void testEncodeAndMatches() {
+        release.countDown();
+
+        String encoded = encoder.encode("Password1");
+
+        assertEquals("encoded:Password1", encoded);
+        assertTrue(encoder.matches("Password1", encoded));
+        assertEquals(2, meterRegistry.find("password.hashing").timers().stream().mapToLong(t -> t.count()).sum());
+    }
+
+    @Test
+    public void testRejectsWhenQueueIsFull() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        waitForQueueSize(0);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        waitForQueueSize(1);
+
+        OverloadedException exception = assertThrows(OverloadedException.class, () -> encoder.encode("third"));
+
+        assertEquals(2, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("encoded:first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("encoded:second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private void waitForQueueSize(int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            double active = meterRegistry.get("password.hashing.active").gauge().value();
+            double queued = meterRegistry.get("password.hashing.queue.size").gauge().value();
+            if (active == 1 && queued == size) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("Пул хэширования не достиг ожидаемого состояния");
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
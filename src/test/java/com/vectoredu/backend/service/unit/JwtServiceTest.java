@@ -0,0 +1,90 @@
+package com.vectoredu.backend.service.unit;
+
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.model.enums.Role;
+import com.vectoredu.backend.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+    private static final String SECRET = "c2VjcmV0LXNlY3JldC1zZWNyZXQtc2VjcmV0LXNlY3JldC1zZWNyZXQtc2VjcmV0";
+    private static final String OTHER_SECRET = "b3RoZXItb3RoZXItb3RoZXItb3RoZXItb3RoZXItb3RoZXItb3RoZXItb3RoZXI=";
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = jwtService(SECRET);
+        user = User.builder()
+                .id(1L)
+                .email("user@example.com")
+                .role(Role.USER)
+                .tokenVersion(0)
+                .enabled(true)
+                .build();
+    }
+
+    @Test
+    void extractAllClaims_ShouldReturnClaims_WhenTokenIsValid() {
+        Claims claims = jwtService.extractAllClaims(jwtService.generateToken(user));
+
+        assertEquals("user@example.com", claims.getSubject());
+        assertEquals(1L, claims.get(JwtService.CLAIM_USER_ID, Number.class).longValue());
+        assertEquals(JwtService.TOKEN_TYPE_ACCESS, claims.get(JwtService.CLAIM_TOKEN_TYPE, String.class));
+        assertTrue(jwtService.isTokenValid(claims, user));
+    }
+
+    @Test
+    void extractAllClaims_ShouldThrowExpiredJwtException_WhenTokenIsExpired() {
+        String token = jwtService.generateToken(Map.of(), "user@example.com", -1_000);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.extractAllClaims(token));
+    }
+
+    @Test
+    void extractAllClaims_ShouldThrowSignatureException_WhenSignedWithOtherKey() {
+        String token = jwtService(OTHER_SECRET).generateToken(user);
+
+        assertThrows(SignatureException.class, () -> jwtService.extractAllClaims(token));
+    }
+
+    @Test
+    void extractAllClaims_ShouldThrowMalformedJwtException_WhenTokenIsMalformed() {
+        assertThrows(MalformedJwtException.class, () -> jwtService.extractAllClaims("not.a.token"));
+    }
+
+    @Test
+    void isTokenValid_ShouldReturnFalse_WhenRefreshTokenUsedAsAccessToken() {
+        Claims claims = jwtService.extractAllClaims(jwtService.generateRefreshToken(user));
+
+        assertFalse(jwtService.isAccessToken(claims));
+        assertFalse(jwtService.isTokenValid(claims, user));
+        assertTrue(jwtService.isRefreshTokenValid(claims, user));
+    }
+
+    @Test
+    void isRefreshTokenValid_ShouldReturnFalse_WhenAccessTokenUsedAsRefreshToken() {
+        Claims claims = jwtService.extractAllClaims(jwtService.generateToken(user));
+
+        assertFalse(jwtService.isRefreshTokenValid(claims, user));
+    }
+
+    private static JwtService jwtService(String secret) {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", secret);
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMillis", 900_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenExpirationMillis", 5_184_000_000L);
+        jwtService.init();
+        return jwtService;
+    }
+}
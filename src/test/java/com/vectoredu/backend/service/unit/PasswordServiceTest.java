@@ -4,18 +4,20 @@ import com.vectoredu.backend.model.PasswordResetToken;
 import com.vectoredu.backend.model.User;
 import com.vectoredu.backend.repository.PasswordResetTokenRepository;
 import com.vectoredu.backend.repository.UserRepository;
-import com.vectoredu.backend.service.EmailService;
+import com.vectoredu.backend.service.EmailOutboxService;
 import com.vectoredu.backend.service.PasswordService;
+import com.vectoredu.backend.service.UserCacheService;
 import com.vectoredu.backend.util.exception.NotFoundException;
 import com.vectoredu.backend.util.exception.ValidationException;
 import com.vectoredu.backend.util.validators.PasswordValidator;
-import jakarta.mail.MessagingException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -33,7 +35,7 @@ class PasswordServiceTest {
     private PasswordResetTokenRepository passwordResetTokenRepository;
 
     @Mock
-    private EmailService emailService;
+    private EmailOutboxService emailOutboxService;
 
     @Mock
     private UserRepository userRepository;
@@ -41,6 +43,12 @@ class PasswordServiceTest {
     @Mock
     private PasswordValidator passwordValidator;
 
+    @Mock
+    private UserCacheService userCacheService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private PasswordService passwordService;
 
@@ -50,6 +58,8 @@ class PasswordServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
         user = new User();
         user.setEmail("email@example.com");
         user.setEnabled(true);
@@ -59,14 +69,14 @@ class PasswordServiceTest {
     }
 
     @Test
-    void requestPasswordReset_ShouldThrowUserException_WhenUserNotFound() throws MessagingException {
+    void requestPasswordReset_ShouldThrowUserException_WhenUserNotFound() {
         String email = "nonexistent@example.com";
 
         when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> passwordService.requestPasswordReset(email));
         verify(passwordResetTokenRepository, never()).deleteByUser(any());
-        verify(emailService, never()).sendVerificationEmail(any(), any(), any());
+        verify(emailOutboxService, never()).enqueue(any(), any(), any());
     }
 
     @Test
@@ -95,6 +105,20 @@ class PasswordServiceTest {
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    void resetPassword_ShouldThrowValidationException_WhenTokenWasUsedConcurrently() {
+        String token = "validToken";
+        String newPassword = "NewPassword1";
+
+        when(passwordResetTokenRepository.findByToken(token)).thenReturn(Optional.of(passwordResetToken));
+        when(passwordValidator.isValid(newPassword, null)).thenReturn(true);
+        when(passwordEncoder.encode(newPassword)).thenReturn("newEncodedPassword");
+        when(passwordResetTokenRepository.deleteByToken(token)).thenReturn(0L);
+
+        assertThrows(ValidationException.class, () -> passwordService.resetPassword(token, newPassword));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void validateNewPassword_ShouldThrowValidationException_WhenPasswordIsInvalid() {
         String invalidPassword = "short";
@@ -114,13 +138,11 @@ class PasswordServiceTest {
     }
 
     @Test
-    void sendPasswordResetEmail_ShouldSendEmail() throws MessagingException {
+    void sendPasswordResetEmail_ShouldSendEmail() {
         String resetLink = "https://localhost:8080/auth/reset-password?token=reset-token";
 
-        doNothing().when(emailService).sendVerificationEmail(any(), any(), any());
-
         passwordService.sendPasswordResetEmail(user, resetLink);
 
-        verify(emailService).sendVerificationEmail(eq(user.getEmail()), anyString(), anyString());
+        verify(emailOutboxService).enqueue(eq(user.getEmail()), anyString(), anyString());
     }
 }
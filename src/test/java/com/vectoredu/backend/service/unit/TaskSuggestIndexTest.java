@@ -0,0 +1,87 @@
+package com.vectoredu.backend.service.unit;
+
+import com.vectoredu.backend.util.TaskSuggestIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskSuggestIndexTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TaskSuggestIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new TaskSuggestIndex(meterRegistry);
+        index.put(1, 1, "Миграция базы данных", "Перенести таблицы");
+        index.put(2, 1, "Обновить документацию", "Описать миграцию схемы");
+        index.put(3, 1, "Миграция почты", "Новый SMTP-сервер");
+        index.put(4, 1, "Настроить сервер", "Проверить нагрузку");
+    }
+
+    @Test
+    public void testPrefixMatchesTitleBeforeDescription() {
+        // Совпадения по названию выдаются первыми, внутри группы — более новые задачи
+        assertEquals(List.of(3L, 1L, 2L), ids(index.suggest("мигр", 10)));
+        assertEquals(List.of(3L, 1L), ids(index.suggest("мигр", 2)));
+    }
+
+    @Test
+    public void testAllWordsMustMatch() {
+        assertEquals(List.of(1L), ids(index.suggest("Миграция ба", 10)));
+        assertEquals(List.of(4L, 3L), ids(index.suggest("серв", 10)));
+        assertEquals(List.of(3L), ids(index.suggest("smtp серв", 10)));
+        assertTrue(index.suggest("миграция отчет", 10).isEmpty());
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    public void testUpdateReplacesTermsAndRemoveDropsTask() {
+        index.put(1, 2, "Отчет за квартал", "Собрать данные");
+        assertEquals(List.of(3L, 2L), ids(index.suggest("мигр", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("отч", 10)));
+        assertEquals("Отчет за квартал", index.suggest("квартал", 1).get(0).title());
+
+        index.removeAll(List.of(1L, 3L));
+        assertEquals(List.of(2L), ids(index.suggest("мигр", 10)));
+        assertTrue(index.suggest("отч", 10).isEmpty());
+    }
+
+    @Test
+    public void testPutIfNewerKeepsLatestVersion() {
+        assertTrue(index.putIfNewer(1, 3, "Отчет за квартал", "Собрать данные"));
+        // Обновление, закоммиченное раньше, применяется позже и не затирает новую версию
+        assertFalse(index.putIfNewer(1, 2, "Миграция базы данных", "Перенести таблицы"));
+        assertEquals(List.of(1L), ids(index.suggest("отч", 10)));
+        assertEquals(List.of(3L, 2L), ids(index.suggest("мигр", 10)));
+
+        assertTrue(index.putIfNewer(5, 1, "Миграция логов", "Новая задача"));
+        assertEquals(List.of(5L, 3L, 2L), ids(index.suggest("мигр", 10)));
+    }
+
+    @Test
+    public void testFootprintMetricsFollowChanges() {
+        double documents = meterRegistry.get("task.suggest.index.documents").gauge().value();
+        double postings = meterRegistry.get("task.suggest.index.postings").gauge().value();
+        double memory = meterRegistry.get("task.suggest.index.memory").gauge().value();
+        assertEquals(4, documents);
+        assertTrue(memory > 0);
+
+        index.remove(4);
+        assertEquals(3, meterRegistry.get("task.suggest.index.documents").gauge().value());
+        assertEquals(postings - 4, meterRegistry.get("task.suggest.index.postings").gauge().value());
+        assertTrue(meterRegistry.get("task.suggest.index.memory").gauge().value() < memory);
+
+        index.removeAll(List.of(1L, 2L, 3L));
+        assertEquals(0, meterRegistry.get("task.suggest.index.terms").gauge().value());
+        assertEquals(0, meterRegistry.get("task.suggest.index.memory").gauge().value());
+    }
+
+    private static List<Long> ids(List<TaskSuggestIndex.Hit> hits) {
+        return hits.stream().map(TaskSuggestIndex.Hit::id).toList();
+    }
+}
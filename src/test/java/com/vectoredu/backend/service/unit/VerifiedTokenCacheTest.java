@@ -0,0 +1,107 @@
+package com.vectoredu.backend.service.unit;
+
+import com.vectoredu.backend.config.CacheConfiguration;
+import com.vectoredu.backend.model.User;
+import com.vectoredu.backend.model.enums.Role;
+import com.vectoredu.backend.service.JwtService;
+import com.vectoredu.backend.service.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest {
+    private static final String SECRET = "c2VjcmV0LXNlY3JldC1zZWNyZXQtc2VjcmV0LXNlY3JldC1zZWNyZXQtc2VjcmV0";
+
+    private JwtService jwtService;
+    private ConcurrentMapCacheManager cacheManager;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        JwtService realJwtService = new JwtService();
+        ReflectionTestUtils.setField(realJwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(realJwtService, "jwtExpirationMillis", 900_000L);
+        ReflectionTestUtils.setField(realJwtService, "refreshTokenExpirationMillis", 5_184_000_000L);
+        realJwtService.init();
+        jwtService = spy(realJwtService);
+
+        cacheManager = new ConcurrentMapCacheManager(CacheConfiguration.VERIFIED_TOKENS);
+        verifiedTokenCache = new VerifiedTokenCache(jwtService, cacheManager, true);
+    }
+
+    @Test
+    void verify_ShouldReturnCachedClaims_WithoutVerifyingAgain() {
+        String token = jwtService.generateToken(user("user@example.com"));
+
+        Claims first = verifiedTokenCache.verify(token);
+        Claims second = verifiedTokenCache.verify(token);
+
+        assertSame(first, second);
+        assertEquals("user@example.com", second.getSubject());
+        verify(jwtService, times(1)).extractAllClaims(token);
+    }
+
+    @Test
+    void verify_ShouldReverifyAndReject_WhenCachedEntryExpired() {
+        String token = jwtService.generateToken(Map.of(), "user@example.com", -1_000);
+        // Claims попали в кэш до истечения токена, а запись еще не вытеснена
+        Claims expiredClaims = Jwts.claims()
+                .subject("user@example.com")
+                .expiration(new Date(System.currentTimeMillis() - 1_000))
+                .build();
+        doReturn(expiredClaims).doCallRealMethod().when(jwtService).extractAllClaims(token);
+        verifiedTokenCache.verify(token);
+
+        assertThrows(ExpiredJwtException.class, () -> verifiedTokenCache.verify(token));
+        verify(jwtService, times(2)).extractAllClaims(token);
+    }
+
+    @Test
+    void verify_ShouldNotServeCachedClaims_WhenTokenIsTampered() {
+        String token = jwtService.generateToken(user("user@example.com"));
+        String otherToken = jwtService.generateToken(user("admin@example.com"));
+        verifiedTokenCache.verify(token);
+
+        // Подпись исходного токена с чужими claims: у подделки другой дайджест, и она проверяется заново
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + otherToken.split("\\.")[1] + "." + parts[2];
+
+        assertThrows(SignatureException.class, () -> verifiedTokenCache.verify(tampered));
+        verify(jwtService).extractAllClaims(tampered);
+    }
+
+    @Test
+    void verify_ShouldBypassCache_WhenDisabled() {
+        VerifiedTokenCache disabledCache = new VerifiedTokenCache(jwtService, cacheManager, false);
+        String token = jwtService.generateToken(user("user@example.com"));
+
+        disabledCache.verify(token);
+        disabledCache.verify(token);
+
+        verify(jwtService, times(2)).extractAllClaims(token);
+        ConcurrentMapCache cache = (ConcurrentMapCache) cacheManager.getCache(CacheConfiguration.VERIFIED_TOKENS);
+        assertTrue(cache.getNativeCache().isEmpty());
+    }
+
+    private static User user(String email) {
+        return User.builder()
+                .id(1L)
+                .email(email)
+                .role(Role.USER)
+                .tokenVersion(0)
+                .enabled(true)
+                .build();
+    }
+}